@@ -36,10 +36,13 @@ echo ==========================
 echo  Création du JAR
 echo ==========================
 
+REM Copier les ressources (META-INF/services : processeur d'annotations des routes)
+xcopy /E /I /Y src\main\resources\META-INF %OUT%\META-INF >nul
+
 cd %OUT%
 
 REM Créer le JAR avec tout le package framework (y compris annotation)
-"%JDK_BIN%\jar.exe" cvf %JAR_NAME% etu\sprint\framework >nul
+"%JDK_BIN%\jar.exe" cvf %JAR_NAME% etu\sprint\framework META-INF >nul
 
 cd ..
 
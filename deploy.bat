@@ -37,8 +37,11 @@ echo ==========================
 echo  Création du JAR du framework
 echo ==========================
 
+REM Copier les ressources (META-INF/services : processeur d'annotations des routes)
+xcopy /E /I /Y src\main\resources\META-INF %OUT%\META-INF >nul
+
 cd %OUT%
-"%JDK_BIN%\jar.exe" cvf %JAR_NAME% etu\sprint\framework >nul
+"%JDK_BIN%\jar.exe" cvf %JAR_NAME% etu\sprint\framework META-INF >nul
 cd ..
 
 REM Déplacer le JAR vers lib/
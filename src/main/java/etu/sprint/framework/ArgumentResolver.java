@@ -0,0 +1,24 @@
+package etu.sprint.framework;
+
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Résout la valeur d'un paramètre de méthode de contrôleur pour une requête
+ *
+ * Un tableau de résolveurs (un par paramètre) est compilé à l'enregistrement
+ * de chaque route à partir de ses ParameterSpec : à chaque requête, la
+ * construction des arguments est une simple boucle sur ce tableau,
+ * sans lecture d'annotations.
+ */
+@FunctionalInterface
+public interface ArgumentResolver {
+
+    /**
+     * @param request la requête HTTP
+     * @param pathValues valeurs extraites de l'URL (voir RouteMatch)
+     * @param multipartData données multipart (null si requête non multipart)
+     */
+    Object resolve(HttpServletRequest request, Object[] pathValues, Map<String, Object> multipartData);
+}
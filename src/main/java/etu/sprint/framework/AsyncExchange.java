@@ -0,0 +1,151 @@
+package etu.sprint.framework;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Requête passée en mode asynchrone (request.startAsync())
+ *
+ * Une seule issue possible : le traitement (thread virtuel, CompletableFuture)
+ * ou l'expiration du délai (503). Celui qui obtient claim() écrit la réponse
+ * puis appelle complete() (ou AsyncContext.dispatch() pour une vue).
+ * Un seul échange par requête, partagé entre le thread virtuel et un éventuel future.
+ * whenComplete() : actions exécutées une fois la requête terminée (libération de limites).
+ */
+final class AsyncExchange implements AsyncListener {
+
+    private static final String ATTRIBUTE = AsyncExchange.class.getName();
+
+    private final AsyncContext context;
+    private final HttpServletResponse response;
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    // Action d'annulation à l'expiration du délai (future, thread virtuel)
+    private volatile Runnable onTimeout;
+
+    // Actions de fin de requête (exécutées une seule fois chacune)
+    private final Queue<Runnable> completionHooks = new ConcurrentLinkedQueue<>();
+    private volatile boolean completed;
+
+    private AsyncExchange(AsyncContext context, HttpServletResponse response) {
+        this.context = context;
+        this.response = response;
+    }
+
+    /**
+     * Démarre le mode asynchrone, ou retourne l'échange déjà démarré pour cette requête
+     *
+     * @param timeout délai max en ms, puis 503
+     */
+    static AsyncExchange start(HttpServletRequest request, HttpServletResponse response, long timeout) {
+        AsyncExchange exchange = (AsyncExchange) request.getAttribute(ATTRIBUTE);
+        if (exchange != null) {
+            return exchange;
+        }
+        AsyncContext context = request.isAsyncStarted() ? request.getAsyncContext() : request.startAsync();
+        context.setTimeout(timeout);
+        exchange = new AsyncExchange(context, response);
+        context.addListener(exchange);
+        request.setAttribute(ATTRIBUTE, exchange);
+        return exchange;
+    }
+
+    /**
+     * Échange asynchrone de la requête, ou null si elle n'est pas passée en asynchrone
+     */
+    static AsyncExchange get(HttpServletRequest request) {
+        return (AsyncExchange) request.getAttribute(ATTRIBUTE);
+    }
+
+    /**
+     * Exécute l'action à la fin de la requête (tout de suite si elle est déjà terminée)
+     */
+    void whenComplete(Runnable hook) {
+        completionHooks.add(hook);
+        if (completed) {
+            runCompletionHooks();
+        }
+    }
+
+    private void runCompletionHooks() {
+        Runnable hook;
+        while ((hook = completionHooks.poll()) != null) {
+            try {
+                hook.run();
+            } catch (RuntimeException e) {
+                System.err.println("[AsyncExchange] Erreur en fin de requête: " + e);
+            }
+        }
+    }
+
+    /**
+     * Réserve l'écriture de la réponse
+     *
+     * @return false si la réponse a déjà été produite (délai expiré, erreur)
+     */
+    boolean claim() {
+        return finished.compareAndSet(false, true);
+    }
+
+    /**
+     * Vrai si la réponse est déjà réservée : par claim(), ou par le conteneur (délai expiré, erreur)
+     */
+    boolean isFinished() {
+        return finished.get();
+    }
+
+    void onTimeout(Runnable action) {
+        this.onTimeout = action;
+    }
+
+    AsyncContext getContext() {
+        return context;
+    }
+
+    void complete() {
+        try {
+            context.complete();
+        } catch (IllegalStateException e) {
+            // Déjà terminé par le conteneur (erreur, client parti)
+        }
+    }
+
+    // ========== AsyncListener ==========
+
+    @Override
+    public void onTimeout(AsyncEvent event) throws IOException {
+        if (claim()) {
+            Runnable action = onTimeout;
+            if (action != null) {
+                action.run();
+            }
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Délai de traitement dépassé");
+            complete();
+        }
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        if (claim()) {
+            complete();
+        }
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        completed = true;
+        runCompletionHooks();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+}
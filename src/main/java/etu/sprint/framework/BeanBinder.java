@@ -0,0 +1,369 @@
+package etu.sprint.framework;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import etu.sprint.framework.annotation.DateFormat;
+
+/**
+ * Métadonnées de binding d'une classe (@ModelAttribute), calculées une seule fois
+ *
+ * Pour chaque propriété : un writer pré-résolu (setter setXxx(...) ou, à défaut,
+ * champ) et un reader (getXxx()/isXxx() ou champ) sous forme de MethodHandle,
+ * et le convertisseur String → type de la propriété.
+ * Binder un formulaire revient alors à une recherche dans une HashMap
+ * et une écriture directe par champ.
+ *
+ * Les binders sont mis en cache par classe (ClassValue : pas de fuite
+ * du class loader de l'application au redéploiement).
+ */
+public final class BeanBinder {
+
+    private static final ClassValue<BeanBinder> BINDERS = new ClassValue<BeanBinder>() {
+        @Override
+        protected BeanBinder computeValue(Class<?> type) {
+            return new BeanBinder(type);
+        }
+    };
+
+    private static final MethodType WRITER_TYPE =
+            MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType READER_TYPE =
+            MethodType.methodType(Object.class, Object.class);
+
+    private final Class<?> type;
+    private final MethodHandle constructor;
+    private final Map<String, Property> properties;
+
+    /**
+     * Propriété d'un bean (writer et/ou reader)
+     */
+    public static final class Property {
+        private final String name;
+        private final Class<?> type;
+        private final Type genericType;
+        private final MethodHandle writer;
+        private final MethodHandle reader;
+        private final TypeConverter converter;
+        private final Object emptyValue;
+
+        Property(String name, Class<?> type, Type genericType, MethodHandle writer, MethodHandle reader,
+                 String dateFormat) {
+            this.name = name;
+            this.type = type;
+            this.genericType = genericType;
+            this.writer = writer;
+            this.reader = reader;
+            this.converter = ConverterRegistry.lookup(type, dateFormat);
+            this.emptyValue = ConverterRegistry.defaultValue(type);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        /**
+         * Type générique déclaré (ex: List<LigneCommande>), pour les éléments de collection
+         */
+        public Type getGenericType() {
+            return genericType;
+        }
+
+        public boolean isWritable() {
+            return writer != null;
+        }
+
+        /**
+         * Convertisseur texte → type de la propriété (@DateFormat pris en compte), ou null
+         */
+        TypeConverter getConverter() {
+            return converter;
+        }
+
+        public boolean isReadable() {
+            return reader != null;
+        }
+
+        /**
+         * Lit la valeur courante de la propriété
+         */
+        public Object read(Object target) {
+            try {
+                return reader.invokeExact(target);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Lecture impossible: " + name, t);
+            }
+        }
+
+        /**
+         * Convertit puis écrit une valeur de requête
+         *
+         * @return false si la valeur n'est pas convertible vers le type de la propriété
+         *         (propriété non modifiée)
+         */
+        public boolean bind(Object target, String value) {
+            if (writer == null) {
+                return true;
+            }
+            Object converted = convert(converter, emptyValue, value);
+            if (converted == TypeConverter.INVALID) {
+                return false;
+            }
+            if (converted != null || !type.isPrimitive()) {
+                write(target, converted);
+            }
+            return true;
+        }
+
+        /**
+         * Écrit une valeur déjà typée
+         */
+        public void write(Object target, Object value) {
+            try {
+                writer.invokeExact(target, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Écriture impossible: " + name, t);
+            }
+        }
+    }
+
+    private BeanBinder(Class<?> type) {
+        this.type = type;
+        this.constructor = findConstructor(type);
+        this.properties = Collections.unmodifiableMap(resolveProperties(type));
+    }
+
+    /**
+     * Binder (en cache) d'une classe
+     */
+    public static BeanBinder of(Class<?> type) {
+        return BINDERS.get(type);
+    }
+
+    /**
+     * Crée une instance via le constructeur sans argument
+     */
+    public Object newInstance() throws Exception {
+        if (constructor == null) {
+            throw new NoSuchMethodException(type.getName() + ".<init>()");
+        }
+        try {
+            return constructor.invoke();
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Propriété par nom (null si inconnue)
+     */
+    public Property getProperty(String name) {
+        return properties.get(name);
+    }
+
+    /**
+     * Lie une valeur de requête à une propriété (ignorée si la propriété n'existe pas)
+     *
+     * @return false si la valeur n'est pas convertible
+     */
+    public boolean bind(Object target, String name, String value) {
+        Property property = properties.get(name);
+        return property == null || property.bind(target, value);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Propriétés par nom (alias "FirstName" inclus), non modifiable
+     */
+    Map<String, Property> getProperties() {
+        return properties;
+    }
+
+    // ========== RÉSOLUTION (une seule fois par classe) ==========
+
+    private static MethodHandle findConstructor(Class<?> type) {
+        try {
+            java.lang.reflect.Constructor<?> ctor = type.getDeclaredConstructor();
+            ctor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(ctor);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Setters/getters prioritaires sur les champs, sous-classe prioritaire sur la superclasse
+     */
+    private static Map<String, Property> resolveProperties(Class<?> type) {
+        Map<String, Method> setters = new HashMap<>();
+        Map<String, Method> getters = new HashMap<>();
+        Map<String, Field> fields = new HashMap<>();
+        // "FirstName" trouvait aussi setFirstName() : alias vers "firstName"
+        Map<String, String> aliases = new HashMap<>();
+
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                if (Modifier.isStatic(method.getModifiers()) || method.isBridge()) {
+                    continue;
+                }
+                String name = method.getName();
+                String suffix;
+                Map<String, Method> target;
+                if (name.startsWith("set") && name.length() > 3 && method.getParameterCount() == 1) {
+                    suffix = name.substring(3);
+                    target = setters;
+                } else if (name.startsWith("get") && name.length() > 3 && method.getParameterCount() == 0
+                        && method.getReturnType() != void.class) {
+                    suffix = name.substring(3);
+                    target = getters;
+                } else if (name.startsWith("is") && name.length() > 2 && method.getParameterCount() == 0
+                        && method.getReturnType() != void.class) {
+                    suffix = name.substring(2);
+                    target = getters;
+                } else {
+                    continue;
+                }
+                String propertyName = Character.toLowerCase(suffix.charAt(0)) + suffix.substring(1);
+                target.putIfAbsent(propertyName, method);
+                if (!suffix.equals(propertyName)) {
+                    aliases.putIfAbsent(suffix, propertyName);
+                }
+            }
+            for (Field field : c.getDeclaredFields()) {
+                int mod = field.getModifiers();
+                if (!Modifier.isStatic(mod) && !field.isSynthetic()) {
+                    fields.putIfAbsent(field.getName(), field);
+                }
+            }
+        }
+
+        Set<String> names = new HashSet<>(setters.keySet());
+        names.addAll(getters.keySet());
+        names.addAll(fields.keySet());
+
+        Map<String, Property> properties = new HashMap<>();
+        for (String name : names) {
+            Property property = createProperty(name, setters.get(name), getters.get(name), fields.get(name));
+            if (property != null) {
+                properties.put(name, property);
+            }
+        }
+        for (Map.Entry<String, String> alias : aliases.entrySet()) {
+            Property property = properties.get(alias.getValue());
+            if (property != null) {
+                properties.putIfAbsent(alias.getKey(), property);
+            }
+        }
+        return properties;
+    }
+
+    private static Property createProperty(String name, Method setter, Method getter, Field field) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle writer = null;
+        MethodHandle reader = null;
+        Class<?> propertyType = null;
+        Type genericType = null;
+
+        if (setter != null) {
+            try {
+                setter.setAccessible(true);
+                writer = lookup.unreflect(setter).asType(WRITER_TYPE);
+                propertyType = setter.getParameterTypes()[0];
+                genericType = setter.getGenericParameterTypes()[0];
+            } catch (IllegalAccessException | RuntimeException e) {
+                // Setter inaccessible : le champ sera essayé
+            }
+        }
+        if (writer == null && field != null && !Modifier.isFinal(field.getModifiers())) {
+            try {
+                field.setAccessible(true);
+                writer = lookup.unreflectSetter(field).asType(WRITER_TYPE);
+                propertyType = field.getType();
+                genericType = field.getGenericType();
+            } catch (IllegalAccessException | RuntimeException e) {
+                // Champ inaccessible
+            }
+        }
+
+        if (getter != null) {
+            try {
+                getter.setAccessible(true);
+                reader = lookup.unreflect(getter).asType(READER_TYPE);
+                if (propertyType == null) {
+                    propertyType = getter.getReturnType();
+                    genericType = getter.getGenericReturnType();
+                }
+            } catch (IllegalAccessException | RuntimeException e) {
+                // Getter inaccessible : le champ sera essayé
+            }
+        }
+        if (reader == null && field != null) {
+            try {
+                field.setAccessible(true);
+                reader = lookup.unreflectGetter(field).asType(READER_TYPE);
+                if (propertyType == null) {
+                    propertyType = field.getType();
+                    genericType = field.getGenericType();
+                }
+            } catch (IllegalAccessException | RuntimeException e) {
+                // Champ inaccessible
+            }
+        }
+
+        if (writer == null && reader == null) {
+            return null;
+        }
+        return new Property(name, propertyType, genericType, writer, reader,
+                            dateFormatOf(setter, field, getter));
+    }
+
+    /**
+     * Pattern @DateFormat posé sur le setter, le champ ou le getter ("" si aucun)
+     */
+    private static String dateFormatOf(Method setter, Field field, Method getter) {
+        DateFormat format = setter != null ? setter.getAnnotation(DateFormat.class) : null;
+        if (format == null && field != null) {
+            format = field.getAnnotation(DateFormat.class);
+        }
+        if (format == null && getter != null) {
+            format = getter.getAnnotation(DateFormat.class);
+        }
+        return format != null ? format.value() : "";
+    }
+
+    // ========== CONVERSION ==========
+
+    /**
+     * Conversion d'une valeur de formulaire : vide → valeur par défaut du type,
+     * type non convertible ou valeur invalide → TypeConverter.INVALID
+     */
+    static Object convert(TypeConverter converter, Object emptyValue, String value) {
+        if (value == null || value.isBlank()) {
+            return emptyValue;
+        }
+        return converter != null ? converter.convert(value) : TypeConverter.INVALID;
+    }
+}
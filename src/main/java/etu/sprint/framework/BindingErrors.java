@@ -0,0 +1,95 @@
+package etu.sprint.framework;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Erreurs de conversion rencontrées pendant le binding d'une requête
+ *
+ * Une valeur non convertible ne lève pas d'exception : le paramètre reçoit
+ * sa valeur par défaut (ou la propriété n'est pas modifiée) et l'erreur est
+ * ajoutée ici. L'objet n'est créé qu'à la première erreur ; le contrôleur
+ * le récupère avec BindingErrors.of(request) (null si aucune erreur).
+ */
+public class BindingErrors {
+
+    public static final String ATTRIBUTE = BindingErrors.class.getName();
+
+    private final List<FieldError> errors = new ArrayList<>();
+
+    /**
+     * Erreur sur un paramètre ou une propriété
+     */
+    public static final class FieldError {
+        private final String name;
+        private final String value;
+        private final Class<?> type;
+
+        FieldError(String name, String value, Class<?> type) {
+            this.name = name;
+            this.value = value;
+            this.type = type;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        @Override
+        public String toString() {
+            return name + "=\"" + value + "\" (" + type.getSimpleName() + " attendu)";
+        }
+    }
+
+    /**
+     * Erreurs de la requête courante, ou null si aucune
+     */
+    public static BindingErrors of(HttpServletRequest request) {
+        return (BindingErrors) request.getAttribute(ATTRIBUTE);
+    }
+
+    /**
+     * Enregistre une valeur non convertible
+     */
+    public static void reject(HttpServletRequest request, String name, CharSequence value, Class<?> type) {
+        BindingErrors errors = of(request);
+        if (errors == null) {
+            errors = new BindingErrors();
+            request.setAttribute(ATTRIBUTE, errors);
+        }
+        errors.errors.add(new FieldError(name, value != null ? value.toString() : null, type));
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    public boolean hasError(String name) {
+        for (FieldError error : errors) {
+            if (error.getName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<FieldError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    @Override
+    public String toString() {
+        return errors.toString();
+    }
+}
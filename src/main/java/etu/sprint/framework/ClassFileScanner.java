@@ -0,0 +1,321 @@
+package etu.sprint.framework;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+import java.util.stream.Collectors;
+
+import javax.servlet.ServletContext;
+
+/**
+ * Scanner de classes au niveau bytecode (sans charger les classes)
+ *
+ * Lit directement l'en-tête et le constant pool des fichiers .class pour trouver
+ * les types portant une annotation donnée (ex: @Controller). Aucune classe n'est
+ * chargée ni initialisée pendant le scan : seules les classes trouvées le seront
+ * ensuite par FrontServlet.
+ *
+ * Sources parcourues via ServletContext (fonctionne aussi si getRealPath() retourne
+ * null, ex: WAR non décompressé) :
+ * - /WEB-INF/classes/ (récursif)
+ * - /WEB-INF/lib/*.jar
+ *
+ * Les fichiers et jars sont analysés en parallèle.
+ */
+public class ClassFileScanner {
+
+    private static final int CLASS_MAGIC = 0xCAFEBABE;
+
+    private static final byte[] RUNTIME_VISIBLE_ANNOTATIONS =
+            "RuntimeVisibleAnnotations".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] annotationDescriptor;
+
+    private final AtomicInteger classFilesRead = new AtomicInteger();
+    private final AtomicInteger jarsRead = new AtomicInteger();
+
+    /**
+     * @param annotationClass annotation recherchée (rétention RUNTIME)
+     */
+    public ClassFileScanner(Class<?> annotationClass) {
+        String descriptor = "L" + annotationClass.getName().replace('.', '/') + ";";
+        this.annotationDescriptor = descriptor.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parcourt WEB-INF/classes et WEB-INF/lib
+     *
+     * @return les noms des classes annotées
+     */
+    public List<String> scan(ServletContext context) {
+        List<String> classFiles = new ArrayList<>();
+        collectResources(context, "/WEB-INF/classes/", ".class", classFiles);
+
+        List<String> jars = new ArrayList<>();
+        collectResources(context, "/WEB-INF/lib/", ".jar", jars);
+
+        List<String> found = classFiles.parallelStream()
+                .map(path -> scanClassResource(context, path))
+                .filter(name -> name != null)
+                .collect(Collectors.toList());
+
+        List<String> fromJars = jars.parallelStream()
+                .flatMap(path -> scanJarResource(context, path).stream())
+                .collect(Collectors.toList());
+
+        List<String> result = new ArrayList<>(found);
+        result.addAll(fromJars);
+        Collections.sort(result);
+        return result;
+    }
+
+    public int getClassFilesRead() {
+        return classFilesRead.get();
+    }
+
+    public int getJarsRead() {
+        return jarsRead.get();
+    }
+
+    private void collectResources(ServletContext context, String dir, String suffix, List<String> out) {
+        Set<String> paths = context.getResourcePaths(dir);
+        if (paths == null) {
+            return;
+        }
+        for (String path : paths) {
+            if (path.endsWith("/")) {
+                collectResources(context, path, suffix, out);
+            } else if (path.endsWith(suffix)) {
+                out.add(path);
+            }
+        }
+    }
+
+    private String scanClassResource(ServletContext context, String path) {
+        try (InputStream in = context.getResourceAsStream(path)) {
+            if (in == null) {
+                return null;
+            }
+            classFilesRead.incrementAndGet();
+            return readAnnotatedClassName(readAll(in));
+        } catch (IOException | RuntimeException e) {
+            // RuntimeException : fichier .class tronqué ou invalide
+            System.err.println("[ClassFileScanner] Lecture impossible: " + path);
+            return null;
+        }
+    }
+
+    private List<String> scanJarResource(ServletContext context, String path) {
+        List<String> names = new ArrayList<>();
+        try (InputStream raw = context.getResourceAsStream(path)) {
+            if (raw == null) {
+                return names;
+            }
+            jarsRead.incrementAndGet();
+            JarInputStream jar = new JarInputStream(raw);
+            JarEntry entry;
+            while ((entry = jar.getNextJarEntry()) != null) {
+                String entryName = entry.getName();
+                if (entry.isDirectory() || !entryName.endsWith(".class")
+                        || entryName.endsWith("module-info.class")) {
+                    continue;
+                }
+                classFilesRead.incrementAndGet();
+                try {
+                    String className = readAnnotatedClassName(readAll(jar));
+                    if (className != null) {
+                        names.add(className);
+                    }
+                } catch (RuntimeException e) {
+                    System.err.println("[ClassFileScanner] Classe invalide ignorée: " + entryName);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("[ClassFileScanner] Jar illisible: " + path + " (" + e.getMessage() + ")");
+        }
+        return names;
+    }
+
+    /**
+     * Analyse un fichier .class
+     *
+     * @return le nom binaire de la classe (ex: "etu.test.controller.HelloController")
+     *         si elle porte l'annotation, sinon null
+     */
+    public String readAnnotatedClassName(byte[] b) {
+        if (b.length < 10 || readInt(b, 0) != CLASS_MAGIC) {
+            return null;
+        }
+
+        // --- Constant pool : offsets des entrées Utf8 et Class ---
+        int count = readU2(b, 8);
+        int[] offsets = new int[count];
+        boolean descriptorPresent = false;
+        int pos = 10;
+        for (int i = 1; i < count; i++) {
+            int tag = b[pos] & 0xFF;
+            offsets[i] = pos;
+            switch (tag) {
+                case 1: // Utf8
+                    int length = readU2(b, pos + 1);
+                    if (!descriptorPresent && equalsUtf8(b, pos, annotationDescriptor)) {
+                        descriptorPresent = true;
+                    }
+                    pos += 3 + length;
+                    break;
+                case 7: case 8: case 16: case 19: case 20: // Class, String, MethodType, Module, Package
+                    pos += 3;
+                    break;
+                case 15: // MethodHandle
+                    pos += 4;
+                    break;
+                case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+                    pos += 5;
+                    break;
+                case 5: case 6: // Long, Double : occupent deux entrées
+                    pos += 9;
+                    i++;
+                    break;
+                default:
+                    return null; // Format inconnu
+            }
+        }
+
+        // Cas le plus fréquent : le descripteur n'apparaît nulle part
+        if (!descriptorPresent) {
+            return null;
+        }
+
+        int thisClass = readU2(b, pos + 2);
+        pos += 6; // access_flags, this_class, super_class
+        int interfaces = readU2(b, pos);
+        pos += 2 + interfaces * 2;
+
+        // --- Champs et méthodes : on saute leurs attributs ---
+        for (int member = 0; member < 2; member++) {
+            int memberCount = readU2(b, pos);
+            pos += 2;
+            for (int i = 0; i < memberCount; i++) {
+                pos += 6;
+                pos = skipAttributes(b, pos);
+            }
+        }
+
+        // --- Attributs de la classe : RuntimeVisibleAnnotations ---
+        int attributes = readU2(b, pos);
+        pos += 2;
+        for (int i = 0; i < attributes; i++) {
+            int nameIndex = readU2(b, pos);
+            int length = readInt(b, pos + 2);
+            int start = pos + 6;
+            if (equalsUtf8(b, offsets[nameIndex], RUNTIME_VISIBLE_ANNOTATIONS)) {
+                if (hasAnnotation(b, start, offsets)) {
+                    int nameOffset = offsets[readU2(b, offsets[thisClass] + 1)];
+                    return readUtf8(b, nameOffset).replace('/', '.');
+                }
+            }
+            pos = start + length;
+        }
+        return null;
+    }
+
+    private boolean hasAnnotation(byte[] b, int pos, int[] offsets) {
+        int count = readU2(b, pos);
+        pos += 2;
+        for (int i = 0; i < count; i++) {
+            int typeIndex = readU2(b, pos);
+            if (equalsUtf8(b, offsets[typeIndex], annotationDescriptor)) {
+                return true;
+            }
+            pos = skipAnnotation(b, pos);
+        }
+        return false;
+    }
+
+    private int skipAttributes(byte[] b, int pos) {
+        int count = readU2(b, pos);
+        pos += 2;
+        for (int i = 0; i < count; i++) {
+            pos += 6 + readInt(b, pos + 2);
+        }
+        return pos;
+    }
+
+    private int skipAnnotation(byte[] b, int pos) {
+        int pairs = readU2(b, pos + 2);
+        pos += 4;
+        for (int i = 0; i < pairs; i++) {
+            pos = skipElementValue(b, pos + 2);
+        }
+        return pos;
+    }
+
+    private int skipElementValue(byte[] b, int pos) {
+        char tag = (char) (b[pos] & 0xFF);
+        pos++;
+        switch (tag) {
+            case 'e':
+                return pos + 4;
+            case '@':
+                return skipAnnotation(b, pos);
+            case '[':
+                int count = readU2(b, pos);
+                pos += 2;
+                for (int i = 0; i < count; i++) {
+                    pos = skipElementValue(b, pos);
+                }
+                return pos;
+            default: // B C D F I J S Z s c
+                return pos + 2;
+        }
+    }
+
+    // ========== LECTURE BAS NIVEAU ==========
+
+    private static int readU2(byte[] b, int pos) {
+        return ((b[pos] & 0xFF) << 8) | (b[pos + 1] & 0xFF);
+    }
+
+    private static int readInt(byte[] b, int pos) {
+        return ((b[pos] & 0xFF) << 24) | ((b[pos + 1] & 0xFF) << 16)
+                | ((b[pos + 2] & 0xFF) << 8) | (b[pos + 3] & 0xFF);
+    }
+
+    /**
+     * Compare l'entrée Utf8 située à offset avec des octets ASCII
+     */
+    private static boolean equalsUtf8(byte[] b, int offset, byte[] expected) {
+        if (b[offset] != 1 || readU2(b, offset + 1) != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (b[offset + 3 + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String readUtf8(byte[] b, int offset) {
+        // Les noms de classes sont en UTF-8 modifié ; identique à l'UTF-8 hors caractère NUL
+        return new String(b, offset + 3, readU2(b, offset + 1), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(4096);
+        byte[] data = new byte[4096];
+        int n;
+        while ((n = in.read(data, 0, data.length)) != -1) {
+            buffer.write(data, 0, n);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,309 @@
+package etu.sprint.framework;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Binding d'un paramètre @ModelAttribute de type tableau ou List, préparé à l'enregistrement de la route
+ *
+ * Nom lu : valeur de @ModelAttribute, sinon l'ancien nom (nom simple du type en minuscules).
+ * Valeurs acceptées : "ids=1&ids=2", "ids[]=1", "ids[0]=1&ids[1]=2" (triées par index).
+ *
+ * Les paramètres de la requête sont parcourus une seule fois, sans expression régulière.
+ * Les tableaux primitifs (int[], long[], double[]...) sont remplis directement,
+ * sans boxing ni Array.set ; le type des éléments d'une List<T> est résolu
+ * depuis la signature générique du paramètre (String si non résolu).
+ * Une valeur invalide est ignorée et signalée dans BindingErrors.
+ */
+public final class CollectionBinder {
+
+    private final String name;
+    private final boolean list;
+    private final Class<?> elementType;
+    private final TypeConverter converter;
+
+    private CollectionBinder(String name, boolean list, Class<?> elementType) {
+        this.name = name;
+        this.list = list;
+        this.elementType = elementType;
+        this.converter = elementType.isPrimitive() ? null : ConverterRegistry.lookup(elementType);
+    }
+
+    /**
+     * @param type type du paramètre (tableau ou List)
+     * @param genericType type générique du paramètre (Method.getGenericParameterTypes())
+     * @param name nom @ModelAttribute ("" pour l'ancien nom)
+     */
+    public static CollectionBinder of(Class<?> type, Type genericType, String name) {
+        String paramName = name != null && !name.isEmpty() ? name : type.getSimpleName().toLowerCase();
+        if (type.isArray()) {
+            return new CollectionBinder(paramName, false, type.getComponentType());
+        }
+        return new CollectionBinder(paramName, true, elementTypeOf(genericType));
+    }
+
+    private static Class<?> elementTypeOf(Type genericType) {
+        if (genericType instanceof ParameterizedType) {
+            Type[] args = ((ParameterizedType) genericType).getActualTypeArguments();
+            if (args.length == 1) {
+                Type arg = args[0];
+                if (arg instanceof ParameterizedType) {
+                    arg = ((ParameterizedType) arg).getRawType();
+                }
+                if (arg instanceof Class) {
+                    return (Class<?>) arg;
+                }
+            }
+        }
+        // List brute, List<?>, List<T> : valeurs texte (ancien comportement)
+        return String.class;
+    }
+
+    /**
+     * Construit le tableau ou la liste pour une requête
+     */
+    @SuppressWarnings("unchecked")
+    public Object bind(HttpServletRequest request, Map<String, Object> multipartData) {
+        List<String> plain = new ArrayList<>();
+        List<Indexed> indexed = null;
+
+        // Un seul parcours des paramètres (normaux puis multipart)
+        for (Map.Entry<String, String[]> entry : request.getParameterMap().entrySet()) {
+            indexed = collect(entry.getKey(), entry.getValue(), plain, indexed);
+        }
+        if (multipartData != null) {
+            Map<String, String[]> multipartParams = (Map<String, String[]>) multipartData.get("parameters");
+            if (multipartParams != null) {
+                for (Map.Entry<String, String[]> entry : multipartParams.entrySet()) {
+                    indexed = collect(entry.getKey(), entry.getValue(), plain, indexed);
+                }
+            }
+        }
+
+        if (indexed != null) {
+            indexed.sort(null);
+            for (Indexed value : indexed) {
+                plain.add(value.value);
+            }
+        }
+        return list ? toList(plain, request) : toArray(plain, request);
+    }
+
+    /**
+     * name / name[] → toutes les valeurs ; name[n] → première valeur, à l'index n
+     */
+    private List<Indexed> collect(String key, String[] values, List<String> plain, List<Indexed> indexed) {
+        if (values == null || !key.startsWith(name)) {
+            return indexed;
+        }
+        int nameLength = name.length();
+        if (key.length() == nameLength) {
+            plain.addAll(Arrays.asList(values));
+            return indexed;
+        }
+        if (key.charAt(nameLength) != '[' || key.charAt(key.length() - 1) != ']') {
+            return indexed;
+        }
+        if (key.length() == nameLength + 2) {
+            plain.addAll(Arrays.asList(values));
+            return indexed;
+        }
+        long index = 0;
+        for (int i = nameLength + 1; i < key.length() - 1; i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9' || index > Integer.MAX_VALUE) {
+                return indexed;
+            }
+            index = index * 10 + (c - '0');
+        }
+        if (values.length > 0) {
+            if (indexed == null) {
+                indexed = new ArrayList<>();
+            }
+            indexed.add(new Indexed(index, values[0]));
+        }
+        return indexed;
+    }
+
+    private static final class Indexed implements Comparable<Indexed> {
+        final long index;
+        final String value;
+
+        Indexed(long index, String value) {
+            this.index = index;
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(Indexed other) {
+            return Long.compare(index, other.index);
+        }
+    }
+
+    // ========== CONVERSION ==========
+
+    private List<Object> toList(List<String> values, HttpServletRequest request) {
+        List<Object> result = new ArrayList<>(values.size());
+        for (String value : values) {
+            Object converted = convert(value, request);
+            if (converted != TypeConverter.INVALID) {
+                result.add(converted);
+            }
+        }
+        return result;
+    }
+
+    private Object toArray(List<String> values, HttpServletRequest request) {
+        int size = values.size();
+        if (elementType == int.class) {
+            int[] array = new int[size];
+            long[] out = new long[1];
+            int count = 0;
+            for (String value : values) {
+                if (parseIntegral(value, Integer.MIN_VALUE, Integer.MAX_VALUE, out, request)) {
+                    array[count++] = (int) out[0];
+                }
+            }
+            return count == size ? array : Arrays.copyOf(array, count);
+        }
+        if (elementType == long.class) {
+            long[] array = new long[size];
+            long[] out = new long[1];
+            int count = 0;
+            for (String value : values) {
+                if (parseIntegral(value, Long.MIN_VALUE, Long.MAX_VALUE, out, request)) {
+                    array[count++] = out[0];
+                }
+            }
+            return count == size ? array : Arrays.copyOf(array, count);
+        }
+        if (elementType == short.class) {
+            short[] array = new short[size];
+            long[] out = new long[1];
+            int count = 0;
+            for (String value : values) {
+                if (parseIntegral(value, Short.MIN_VALUE, Short.MAX_VALUE, out, request)) {
+                    array[count++] = (short) out[0];
+                }
+            }
+            return count == size ? array : Arrays.copyOf(array, count);
+        }
+        if (elementType == byte.class) {
+            byte[] array = new byte[size];
+            long[] out = new long[1];
+            int count = 0;
+            for (String value : values) {
+                if (parseIntegral(value, Byte.MIN_VALUE, Byte.MAX_VALUE, out, request)) {
+                    array[count++] = (byte) out[0];
+                }
+            }
+            return count == size ? array : Arrays.copyOf(array, count);
+        }
+        if (elementType == double.class) {
+            double[] array = new double[size];
+            double[] out = new double[1];
+            int count = 0;
+            for (String value : values) {
+                if (parseDecimal(value, out, request)) {
+                    array[count++] = out[0];
+                }
+            }
+            return count == size ? array : Arrays.copyOf(array, count);
+        }
+        if (elementType == float.class) {
+            float[] array = new float[size];
+            double[] out = new double[1];
+            int count = 0;
+            for (String value : values) {
+                if (parseDecimal(value, out, request)) {
+                    array[count++] = (float) out[0];
+                }
+            }
+            return count == size ? array : Arrays.copyOf(array, count);
+        }
+        if (elementType == boolean.class) {
+            boolean[] array = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = Boolean.parseBoolean(values.get(i));
+            }
+            return array;
+        }
+        if (elementType == char.class) {
+            char[] array = new char[size];
+            int count = 0;
+            for (String value : values) {
+                if (value.length() == 1) {
+                    array[count++] = value.charAt(0);
+                } else {
+                    BindingErrors.reject(request, name, value, char.class);
+                }
+            }
+            return count == size ? array : Arrays.copyOf(array, count);
+        }
+
+        // Tableau d'objets (String[], Integer[], LocalDate[]...)
+        Object[] array = (Object[]) Array.newInstance(elementType, size);
+        int count = 0;
+        for (String value : values) {
+            Object converted = convert(value, request);
+            if (converted != TypeConverter.INVALID) {
+                array[count++] = converted;
+            }
+        }
+        return count == size ? array : Arrays.copyOf(array, count);
+    }
+
+    private Object convert(String value, HttpServletRequest request) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        Object converted = converter != null ? converter.convert(value) : TypeConverter.INVALID;
+        if (converted == TypeConverter.INVALID) {
+            BindingErrors.reject(request, name, value, elementType);
+        }
+        return converted;
+    }
+
+    /**
+     * Valeur vide → 0 (comme un paramètre primitif absent)
+     */
+    private boolean parseIntegral(String value, long min, long max, long[] out, HttpServletRequest request) {
+        if (value.isEmpty()) {
+            out[0] = 0;
+            return true;
+        }
+        if (ConverterRegistry.parseIntegral(value, min, max, out)) {
+            return true;
+        }
+        BindingErrors.reject(request, name, value, elementType);
+        return false;
+    }
+
+    private boolean parseDecimal(String value, double[] out, HttpServletRequest request) {
+        if (value.isEmpty()) {
+            out[0] = 0;
+            return true;
+        }
+        if (ConverterRegistry.isDecimal(value)) {
+            out[0] = Double.parseDouble(value);
+            return true;
+        }
+        BindingErrors.reject(request, name, value, elementType);
+        return false;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<?> getElementType() {
+        return elementType;
+    }
+}
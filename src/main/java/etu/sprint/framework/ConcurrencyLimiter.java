@@ -0,0 +1,160 @@
+package etu.sprint.framework;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limite de requêtes simultanées d'une route (@ConcurrencyLimit ou paramètre concurrencyLimit)
+ *
+ * tryAcquire() / release() sans verrou : un compteur atomique comparé à la limite,
+ * refus immédiat au-delà (pas de file d'attente).
+ *
+ * Mode adaptatif (type gradient) : à chaque requête terminée, la latence courte
+ * est comparée à une moyenne longue (EWMA). Latence stable → la limite monte
+ * (+√limite), latence qui se dégrade → elle baisse en proportion, entre min et max.
+ * La limite ne monte que si elle est réellement utilisée (inFlight ≥ limite / 2).
+ * Un seul thread à la fois recalcule la limite ; les autres ignorent leur mesure.
+ */
+public class ConcurrencyLimiter {
+
+    // Poids d'une nouvelle mesure dans la moyenne longue
+    private static final double LONG_RTT_ALPHA = 0.05;
+
+    // Poids de la nouvelle limite calculée (lissage)
+    private static final double SMOOTHING = 0.2;
+
+    private final int initialLimit;
+    private final boolean adaptive;
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    // État du mode adaptatif (modifié sous updating)
+    private final AtomicBoolean updating = new AtomicBoolean();
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    public ConcurrencyLimiter(int initialLimit, boolean adaptive, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.initialLimit = Math.max(1, initialLimit);
+        this.adaptive = adaptive;
+        this.limit = adaptive ? clamp(this.initialLimit) : this.initialLimit;
+        this.estimatedLimit = limit;
+    }
+
+    /**
+     * Réserve une place
+     *
+     * @return false si la limite est atteinte (répondre 503)
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libère la place réservée par tryAcquire()
+     *
+     * @param startNanos System.nanoTime() au début de la requête
+     */
+    public void release(long startNanos) {
+        int current = inFlight.getAndDecrement();
+        if (adaptive) {
+            sample(System.nanoTime() - startNanos, current);
+        }
+    }
+
+    private void sample(long rttNanos, int inFlightAtEnd) {
+        if (rttNanos <= 0 || !updating.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (longRttNanos == 0) {
+                longRttNanos = rttNanos;
+                return;
+            }
+            longRttNanos = longRttNanos * (1 - LONG_RTT_ALPHA) + rttNanos * LONG_RTT_ALPHA;
+
+            // Après une longue dégradation, ne pas garder une moyenne trop haute
+            if (longRttNanos / rttNanos > 2) {
+                longRttNanos *= 0.95;
+            }
+
+            double current = estimatedLimit;
+            if (inFlightAtEnd < current / 2) {
+                // Limite non utilisée : la latence ne dit rien sur une limite plus haute
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, longRttNanos / rttNanos));
+            double target = current * gradient + Math.sqrt(current);
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                    current * (1 - SMOOTHING) + target * SMOOTHING));
+            limit = clamp((int) estimatedLimit);
+        } finally {
+            updating.set(false);
+        }
+    }
+
+    private int clamp(int value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    // ========== CONFIGURATION ==========
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    // ========== STATISTIQUES ==========
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrencyLimiter[limit=" + limit + (adaptive ? " (adaptive " + minLimit + ".." + maxLimit + ")" : "")
+                + ", inFlight=" + getInFlight() + ", accepted=" + getAcceptedCount()
+                + ", rejected=" + getRejectedCount() + "]";
+    }
+}
@@ -0,0 +1,344 @@
+package etu.sprint.framework;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+
+/**
+ * Registre des convertisseurs texte → type, partagé par tout le framework
+ * (@RequestParam, valeurs de l'URL, @ModelAttribute, collections)
+ *
+ * Convertisseurs intégrés : primitifs et wrappers, String, char, BigDecimal,
+ * BigInteger, enums, LocalDate / LocalDateTime / LocalTime (ISO ou @DateFormat),
+ * String[] (valeurs séparées par des virgules).
+ * Les nombres sont lus directement depuis le CharSequence, sans exception
+ * pour une valeur invalide (voir TypeConverter.INVALID).
+ *
+ * Le code applicatif peut ajouter ou remplacer un convertisseur :
+ *   ConverterRegistry.register(Money.class, Money::parse);
+ * à faire au démarrage : les plans de binding gardent le convertisseur résolu.
+ */
+public final class ConverterRegistry {
+
+    private static final Map<Class<?>, TypeConverter> CONVERTERS = new ConcurrentHashMap<>();
+
+    // Formatters @DateFormat, par pattern
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+    // Champs que la résolution SMART peut corriger sans erreur
+    private static final ChronoField[] CHECKED_FIELDS = { ChronoField.DAY_OF_MONTH, ChronoField.HOUR_OF_DAY };
+
+    static {
+        registerBuiltins();
+    }
+
+    private ConverterRegistry() {
+    }
+
+    /**
+     * Ajoute ou remplace le convertisseur d'un type (et de son primitif, le cas échéant)
+     */
+    public static void register(Class<?> type, TypeConverter converter) {
+        CONVERTERS.put(type, converter);
+        Class<?> primitive = primitiveOf(type);
+        if (primitive != null) {
+            CONVERTERS.put(primitive, converter);
+        }
+    }
+
+    /**
+     * Convertisseur d'un type, ou null si le type n'est pas convertible depuis du texte
+     */
+    public static TypeConverter lookup(Class<?> type) {
+        TypeConverter converter = CONVERTERS.get(type);
+        if (converter != null) {
+            return converter;
+        }
+        if (type.isEnum()) {
+            return CONVERTERS.computeIfAbsent(type, ConverterRegistry::enumConverter);
+        }
+        if (type.isAssignableFrom(String.class)) {
+            // Object, CharSequence, Comparable... : le texte tel quel
+            return CharSequence::toString;
+        }
+        return null;
+    }
+
+    /**
+     * Convertisseur d'un type avec un pattern @DateFormat (ignoré si vide ou type non temporel)
+     */
+    public static TypeConverter lookup(Class<?> type, String dateFormat) {
+        if (dateFormat == null || dateFormat.isEmpty()) {
+            return lookup(type);
+        }
+        DateTimeFormatter formatter = formatter(dateFormat);
+        if (type == LocalDate.class) {
+            return value -> parseTemporal(value, formatter, LocalDate::from);
+        }
+        if (type == LocalDateTime.class) {
+            return value -> parseTemporal(value, formatter, LocalDateTime::from);
+        }
+        if (type == LocalTime.class) {
+            return value -> parseTemporal(value, formatter, LocalTime::from);
+        }
+        return lookup(type);
+    }
+
+    /**
+     * Convertit une valeur (non vide)
+     *
+     * @return la valeur convertie, ou TypeConverter.INVALID (type inconnu ou valeur invalide)
+     */
+    public static Object convert(CharSequence value, Class<?> type) {
+        TypeConverter converter = lookup(type);
+        return converter != null ? converter.convert(value) : TypeConverter.INVALID;
+    }
+
+    /**
+     * Valeur d'un paramètre absent ou vide : 0 / false pour les primitifs, null sinon
+     */
+    public static Object defaultValue(Class<?> type) {
+        if (type.isPrimitive()) {
+            if (type == int.class) return 0;
+            else if (type == double.class) return 0.0;
+            else if (type == boolean.class) return false;
+            else if (type == long.class) return 0L;
+            else if (type == float.class) return 0.0f;
+            else if (type == short.class) return (short)0;
+            else if (type == byte.class) return (byte)0;
+            else if (type == char.class) return '\0';
+        }
+        return null;
+    }
+
+    /**
+     * DateTimeFormatter en cache pour un pattern
+     */
+    public static DateTimeFormatter formatter(String pattern) {
+        return FORMATTERS.computeIfAbsent(pattern, DateTimeFormatter::ofPattern);
+    }
+
+    // ========== CONVERTISSEURS INTÉGRÉS ==========
+
+    private static void registerBuiltins() {
+        register(String.class, CharSequence::toString);
+        register(Integer.class, v -> parseIntegral(v, Integer.MIN_VALUE, Integer.MAX_VALUE, n -> (int) n));
+        register(Long.class, v -> parseIntegral(v, Long.MIN_VALUE, Long.MAX_VALUE, n -> n));
+        register(Short.class, v -> parseIntegral(v, Short.MIN_VALUE, Short.MAX_VALUE, n -> (short) n));
+        register(Byte.class, v -> parseIntegral(v, Byte.MIN_VALUE, Byte.MAX_VALUE, n -> (byte) n));
+        register(Double.class, v -> isDecimal(v) ? (Object) Double.parseDouble(v.toString()) : TypeConverter.INVALID);
+        register(Float.class, v -> isDecimal(v) ? (Object) Float.parseFloat(v.toString()) : TypeConverter.INVALID);
+        register(Boolean.class, v -> Boolean.parseBoolean(v.toString()));
+        register(Character.class, v -> v.length() == 1 ? (Object) v.charAt(0) : TypeConverter.INVALID);
+        register(BigDecimal.class, v -> isDecimal(v) ? new BigDecimal(v.toString()) : TypeConverter.INVALID);
+        register(BigInteger.class, v -> isInteger(v) ? new BigInteger(v.toString()) : TypeConverter.INVALID);
+        register(LocalDate.class, ConverterRegistry::parseIsoDate);
+        register(LocalDateTime.class,
+                v -> parseTemporal(v, DateTimeFormatter.ISO_LOCAL_DATE_TIME, LocalDateTime::from));
+        register(LocalTime.class, v -> parseTemporal(v, DateTimeFormatter.ISO_LOCAL_TIME, LocalTime::from));
+        register(String[].class, v -> v.toString().split(","));
+    }
+
+    private static TypeConverter enumConverter(Class<?> type) {
+        Map<String, Object> constants = new HashMap<>();
+        for (Object constant : type.getEnumConstants()) {
+            constants.put(((Enum<?>) constant).name(), constant);
+        }
+        return value -> {
+            Object constant = constants.get(value.toString());
+            return constant != null ? constant : TypeConverter.INVALID;
+        };
+    }
+
+    /**
+     * Entier signé dans [min, max], converti par box, ou TypeConverter.INVALID
+     */
+    static Object parseIntegral(CharSequence s, long min, long max, LongFunction<Object> box) {
+        long[] out = new long[1];
+        return parseIntegral(s, min, max, out) ? box.apply(out[0]) : TypeConverter.INVALID;
+    }
+
+    /**
+     * Entier signé dans [min, max] (accumulation en négatif, comme Long.parseLong),
+     * sans allocation : la valeur est écrite dans out[0]
+     *
+     * @return false si le texte n'est pas un entier valide dans l'intervalle
+     */
+    static boolean parseIntegral(CharSequence s, long min, long max, long[] out) {
+        int length = s.length();
+        if (length == 0) {
+            return false;
+        }
+        int i = 0;
+        boolean negative = false;
+        char first = s.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++i == length) {
+                return false;
+            }
+        }
+        long limit = negative ? min : -max;
+        long multmin = limit / 10;
+        long result = 0;
+        for (; i < length; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multmin) {
+                return false;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return false;
+            }
+            result -= digit;
+        }
+        out[0] = negative ? result : -result;
+        return true;
+    }
+
+    private static boolean isInteger(CharSequence s) {
+        int length = s.length();
+        int i = (length > 0 && (s.charAt(0) == '-' || s.charAt(0) == '+')) ? 1 : 0;
+        if (i == length) {
+            return false;
+        }
+        for (; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Nombre décimal : [+-]chiffres[.chiffres][(e|E)[+-]chiffres], au moins un chiffre
+     * (validation préalable : Double.parseDouble / new BigDecimal ne lèvent alors pas d'exception)
+     */
+    static boolean isDecimal(CharSequence s) {
+        int length = s.length();
+        int i = 0;
+        if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            i++;
+        }
+        int digits = 0;
+        while (i < length && isDigit(s.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < length && s.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(s.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < length && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            while (i < length && isDigit(s.charAt(i))) {
+                i++;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0 || exponentDigits > 9) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * yyyy-MM-dd lu directement (cas le plus courant), date impossible → INVALID
+     */
+    private static Object parseIsoDate(CharSequence s) {
+        if (s.length() != 10 || s.charAt(4) != '-' || s.charAt(7) != '-') {
+            return parseTemporal(s, DateTimeFormatter.ISO_LOCAL_DATE, LocalDate::from);
+        }
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 7);
+        int day = digits(s, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1) {
+            return TypeConverter.INVALID;
+        }
+        boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+        int monthLength = month == 2 ? (leap ? 29 : 28)
+                        : (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+        return day <= monthLength ? LocalDate.of(year, month, day) : TypeConverter.INVALID;
+    }
+
+    private static int digits(CharSequence s, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Analyse sans exception pour un texte mal formé (parseUnresolved) ;
+     * seule une date bien formée mais impossible passe par DateTimeException.
+     *
+     * Les patterns @DateFormat sont résolus en mode SMART, qui corrige au lieu de
+     * refuser (31/02/2024 → 29/02, 24:00 → 00:00) : une date dont le jour ou
+     * l'heure résolus diffèrent du texte est refusée, comme en ISO.
+     */
+    private static Object parseTemporal(CharSequence text, DateTimeFormatter formatter, TemporalQuery<?> query) {
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor parsed = formatter.parseUnresolved(text, position);
+        if (parsed == null || position.getErrorIndex() >= 0 || position.getIndex() != text.length()) {
+            return TypeConverter.INVALID;
+        }
+        Object value;
+        try {
+            value = formatter.parse(text, query);
+        } catch (DateTimeException e) {
+            return TypeConverter.INVALID;
+        }
+        TemporalAccessor resolved = (TemporalAccessor) value;
+        for (ChronoField field : CHECKED_FIELDS) {
+            if (parsed.isSupported(field) && resolved.isSupported(field)
+                    && parsed.getLong(field) != resolved.getLong(field)) {
+                return TypeConverter.INVALID;
+            }
+        }
+        return value;
+    }
+
+    private static Class<?> primitiveOf(Class<?> type) {
+        if (type == Integer.class) return int.class;
+        if (type == Long.class) return long.class;
+        if (type == Double.class) return double.class;
+        if (type == Float.class) return float.class;
+        if (type == Boolean.class) return boolean.class;
+        if (type == Short.class) return short.class;
+        if (type == Byte.class) return byte.class;
+        if (type == Character.class) return char.class;
+        return null;
+    }
+}
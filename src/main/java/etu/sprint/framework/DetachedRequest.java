@@ -0,0 +1,247 @@
+package etu.sprint.framework;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpSession;
+import javax.servlet.http.Part;
+
+/**
+ * Requête vue depuis un thread virtuel (@VirtualThreads)
+ *
+ * À l'expiration du délai, le conteneur envoie le 503 et recycle la requête
+ * alors que le thread virtuel peut encore être dans le binding : il ne doit
+ * plus la lire. Ce que le binding utilise est donc copié sur le thread du
+ * conteneur, avant le départ du thread virtuel :
+ *   méthode, URI, query string, Content-Type, paramètres, attributs, session.
+ * Les attributs posés ensuite (BindingErrors...) restent dans la copie et ne
+ * sont recopiés sur la vraie requête que par attach(), une fois la réponse
+ * réservée (claim()). Le corps (getInputStream, getParts) n'est lu que tant
+ * que l'échange n'est pas terminé.
+ *
+ * Les paramètres d'un formulaire POST sont donc lus sur le thread du conteneur.
+ */
+final class DetachedRequest extends HttpServletRequestWrapper {
+
+    private final AsyncExchange exchange;
+
+    private final String method;
+    private final String queryString;
+    private final String contentType;
+    private final String characterEncoding;
+    private final long contentLength;
+    private final String contextPath;
+    private final String requestURI;
+    private final boolean asyncSupported;
+    private final Map<String, String[]> parameters;
+    private volatile HttpSession session;
+
+    // Attributs copiés, puis modifiés par le binding
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    // Attributs modifiés depuis la copie (à recopier par attach())
+    private final Set<String> changed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Copie de la requête : à appeler sur le thread du conteneur
+     */
+    DetachedRequest(HttpServletRequest request, AsyncExchange exchange) {
+        super(request);
+        this.exchange = exchange;
+        this.method = request.getMethod();
+        this.queryString = request.getQueryString();
+        this.contentType = request.getContentType();
+        this.characterEncoding = request.getCharacterEncoding();
+        this.contentLength = request.getContentLengthLong();
+        this.contextPath = request.getContextPath();
+        this.requestURI = request.getRequestURI();
+        this.asyncSupported = request.isAsyncSupported();
+        this.parameters = Collections.unmodifiableMap(new HashMap<>(request.getParameterMap()));
+        this.session = request.getSession(false);
+        for (Enumeration<String> names = request.getAttributeNames(); names.hasMoreElements(); ) {
+            String name = names.nextElement();
+            Object value = request.getAttribute(name);
+            if (value != null) {
+                attributes.put(name, value);
+            }
+        }
+    }
+
+    /**
+     * Requête du conteneur, avec les attributs posés pendant le binding ;
+     * à appeler après claim() (la requête n'est alors plus recyclée).
+     * Une requête qui n'est pas une DetachedRequest est retournée telle quelle.
+     */
+    static HttpServletRequest attach(HttpServletRequest request) {
+        if (!(request instanceof DetachedRequest)) {
+            return request;
+        }
+        DetachedRequest detached = (DetachedRequest) request;
+        HttpServletRequest live = (HttpServletRequest) detached.getRequest();
+        for (String name : detached.changed) {
+            Object value = detached.attributes.get(name);
+            if (value != null) {
+                live.setAttribute(name, value);
+            } else {
+                live.removeAttribute(name);
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Échange terminé (délai expiré) : la requête du conteneur ne doit plus être lue
+     */
+    private void checkActive() {
+        if (exchange.isFinished()) {
+            throw new IllegalStateException("Requête terminée (délai dépassé)");
+        }
+    }
+
+    // ========== COPIE ==========
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    @Override
+    public int getContentLength() {
+        return contentLength > Integer.MAX_VALUE ? -1 : (int) contentLength;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return contentLength;
+    }
+
+    @Override
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return requestURI;
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return asyncSupported;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values != null && values.length > 0 ? values[0] : null;
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return parameters;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            removeAttribute(name);
+            return;
+        }
+        attributes.put(name, value);
+        changed.add(name);
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+        changed.add(name);
+    }
+
+    @Override
+    public HttpSession getSession() {
+        return getSession(true);
+    }
+
+    @Override
+    public HttpSession getSession(boolean create) {
+        HttpSession current = session;
+        if (current != null || !create) {
+            return current;
+        }
+        checkActive();
+        current = super.getSession(true);
+        session = current;
+        return current;
+    }
+
+    // ========== CORPS (tant que l'échange est actif) ==========
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        checkActive();
+        return super.getInputStream();
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        checkActive();
+        return super.getReader();
+    }
+
+    @Override
+    public Collection<Part> getParts() throws IOException, ServletException {
+        checkActive();
+        return super.getParts();
+    }
+
+    @Override
+    public Part getPart(String name) throws IOException, ServletException {
+        checkActive();
+        return super.getPart(name);
+    }
+}
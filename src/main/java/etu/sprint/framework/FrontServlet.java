@@ -2,11 +2,18 @@
 package etu.sprint.framework;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.lang.reflect.*;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.*;
-import java.util.regex.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 import javax.servlet.*;
 import javax.servlet.http.*;
@@ -16,7 +23,8 @@ import etu.sprint.framework.annotation.HttpMethod;
 import etu.sprint.framework.annotation.MyUrl;
 import etu.sprint.framework.annotation.RequestParam;
 import etu.sprint.framework.annotation.ModelAttribute;
-import etu.sprint.framework.annotation.JSON;
+import etu.sprint.framework.annotation.Priority;
+import etu.sprint.framework.annotation.RateLimit;
 import etu.sprint.framework.annotation.FileParam;
 import etu.sprint.framework.controller.Controller;
 
@@ -32,11 +40,40 @@ import etu.sprint.framework.controller.Controller;
 public class FrontServlet extends HttpServlet {
 
     private List<RouteMapping> mappings = new ArrayList<>();
-    private boolean isScanned = false;
+    private RouteIndex routeIndex = new RouteIndex(Collections.emptyList());
+
+    // Cache des routes résolues (null si désactivé via routeCacheSize=0)
+    private RouteCache routeCache;
+
+    // volatile : lu sans verrou dans service() (mode lazy)
+    private volatile boolean isScanned = false;
     
     // Configuration pour l'upload
     private String uploadTempDir;
 
+    // rawQueryParameters=true : @RequestParam lus dans la query string brute (GET)
+    private boolean rawQueryParameters;
+
+    // Limites des corps @RequestBody (requestBodyMaxBytes, requestBodyMaxDepth)
+    private long requestBodyMaxBytes;
+    private int requestBodyMaxDepth;
+
+    // Délai max (ms) d'une méthode retournant un CompletableFuture ou d'une route @VirtualThreads
+    private long asyncTimeout;
+
+    // Exécution des routes @VirtualThreads (null si aucune route ou JDK < 21)
+    private volatile VirtualThreadDispatcher virtualThreads;
+
+    // Statut 429 (absent de HttpServletResponse en Servlet 4)
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+
+    // Limite de débit globale par client (null si rateLimit n'est pas configuré)
+    private RateLimiter globalRateLimiter;
+
+    // Délestage global par priorité (null si loadShedding n'est pas activé)
+    private LoadShedder loadShedder;
+    private String queueStartHeader;
+
     @Override
     public void init() throws ServletException {
         super.init();
@@ -50,6 +87,41 @@ public class FrontServlet extends HttpServlet {
         
         System.out.println("[FrontServlet] Initialisation OK - Sprint 10 avec Upload Fichier");
         System.out.println("[FrontServlet] Répertoire temporaire upload: " + uploadTempDir);
+
+        rawQueryParameters = "true".equalsIgnoreCase(getConfigParameter("rawQueryParameters"));
+        asyncTimeout = getIntParameter("asyncTimeout", 30000);
+        requestBodyMaxBytes = getIntParameter("requestBodyMaxBytes", 1024 * 1024);
+        requestBodyMaxDepth = getIntParameter("requestBodyMaxDepth", 64);
+
+        // rateLimit=N : N requêtes par client toutes les rateLimitPeriod secondes, sur toutes les routes
+        int rateLimit = getIntParameter("rateLimit", 0);
+        if (rateLimit > 0) {
+            globalRateLimiter = createRateLimiter(rateLimit, getConfigParameter("rateLimitKey"));
+            System.out.println("[FrontServlet] Limite de débit globale: " + globalRateLimiter);
+        }
+
+        // loadShedding=true : délestage des routes de faible priorité en surcharge
+        if ("true".equalsIgnoreCase(getConfigParameter("loadShedding"))) {
+            loadShedder = new LoadShedder(getIntParameter("loadSheddingTarget", 5),
+                                          getIntParameter("loadSheddingInterval", 100));
+            String header = getConfigParameter("queueStartHeader");
+            queueStartHeader = header != null ? header : "X-Request-Start";
+            getServletContext().setAttribute(LoadShedder.class.getName(), loadShedder);
+        }
+
+        // initMode=eager (défaut) : routes construites ici, avant la première requête
+        // (le conteneur n'envoie aucune requête tant que init() n'est pas terminé ;
+        // utiliser <load-on-startup> pour que ce soit fait au déploiement)
+        // initMode=lazy : ancien comportement, scan à la première requête
+        String initMode = getConfigParameter("initMode");
+        if (!"lazy".equalsIgnoreCase(initMode)) {
+            try {
+                scanControllers();
+                isScanned = true;
+            } catch (Exception e) {
+                throw new ServletException("[FrontServlet] Échec de la construction des routes", e);
+            }
+        }
     }
 
     @Override
@@ -61,46 +133,169 @@ public class FrontServlet extends HttpServlet {
         if (!isScanned) {
             synchronized (this) {
                 if (!isScanned) {
-                    scanControllers();
+                    try {
+                        scanControllers();
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                    }
                     isScanned = true;
                 }
             }
         }
 
+        // --- LIMITE DE DÉBIT GLOBALE (rateLimit) : avant toute autre lecture de la requête ---
+        if (globalRateLimiter != null && rejectRateLimited(globalRateLimiter, request, response)) {
+            return;
+        }
+
         String uri = request.getRequestURI();
         String ctx = request.getContextPath();
         String path = uri.substring(ctx.length());
         String httpMethod = request.getMethod();
 
-        RouteMapping matched = null;
-        String[] extractedParams = null;
-
         // --- MATCH ROUTE (STATIC + DYNAMIC + HTTP METHOD) ---
-        for (RouteMapping rm : mappings) {
+        RouteMatch match = routeCache != null
+                ? routeCache.match(routeIndex, httpMethod, path)
+                : routeIndex.match(httpMethod, path);
+        RouteMapping matched = match != null ? match.getMapping() : null;
+        Object[] extractedParams = match != null ? match.getParams() : null;
+
+        if (matched == null) {
+            response.getWriter().println("<h1>404 - No route matches " + httpMethod + " " + path + "</h1>");
+            return;
+        }
 
-            if (!rm.matchesHttpMethod(httpMethod)) {
-                continue;
+        // --- LIMITE DE DÉBIT DE LA ROUTE (@RateLimit) : avant multipart et binding ---
+        RateLimiter rateLimiter = matched.getRateLimiter();
+        if (rateLimiter != null && rejectRateLimited(rateLimiter, request, response)) {
+            return;
+        }
+
+        // --- DÉLESTAGE GLOBAL (loadShedding=true, @Priority) ---
+        LoadShedder shedder = loadShedder;
+        long queueDelay = -1;
+        if (shedder != null) {
+            queueDelay = LoadShedder.parseQueueDelay(request.getHeader(queueStartHeader), System.currentTimeMillis());
+            if (queueDelay >= 0) {
+                shedder.recordQueueDelay(queueDelay);
+            }
+            if (shedder.shouldShed(matched.getPriority(), queueDelay)) {
+                sendOverloaded(response, "Serveur surchargé");
+                return;
             }
+        }
+
+        // --- LIMITE DE CONCURRENCE (@ConcurrencyLimit) : refus immédiat, sans file d'attente ---
+        ConcurrencyLimiter limiter = matched.getConcurrencyLimiter();
+        if (limiter != null && !limiter.tryAcquire()) {
+            sendOverloaded(response, "Trop de requêtes simultanées sur cette route");
+            return;
+        }
+        long startNanos = System.nanoTime();
+        // Sans en-tête de file d'attente : le délestage se base sur la durée de traitement
+        boolean sampleLatency = shedder != null && queueDelay < 0;
 
-            String regex = convertPathToRegex(rm.getPattern());
-            Pattern p = Pattern.compile("^" + regex + "$");
-            Matcher m = p.matcher(path);
+        try {
+            // --- THREAD VIRTUEL (@VirtualThreads) ---
+            VirtualThreadDispatcher dispatcher = virtualThreads;
+            if (matched.isVirtualThread() && dispatcher != null && request.isAsyncSupported()) {
+                dispatchOnVirtualThread(dispatcher, matched, extractedParams, request, response);
+                return;
+            }
 
-            if (m.matches()) {
-                matched = rm;
+            processRequest(matched, extractedParams, request, response, null);
 
-                extractedParams = new String[m.groupCount()];
-                for (int i = 0; i < m.groupCount(); i++) {
-                    extractedParams[i] = m.group(i + 1);
+        } finally {
+            if (limiter != null || sampleLatency) {
+                Runnable done = () -> {
+                    if (limiter != null) {
+                        limiter.release(startNanos);
+                    }
+                    if (sampleLatency) {
+                        shedder.recordLatency(matched, System.nanoTime() - startNanos);
+                    }
+                };
+                // Requête asynchrone : place libérée à sa fin réelle (complete / dispatch)
+                AsyncExchange exchange = AsyncExchange.get(request);
+                if (exchange != null) {
+                    exchange.whenComplete(done);
+                } else {
+                    done.run();
                 }
-                break;
             }
         }
+    }
+
+    /**
+     * 429 + Retry-After si le client a épuisé ses jetons
+     *
+     * @return true si la requête a été refusée
+     */
+    private static boolean rejectRateLimited(RateLimiter limiter, HttpServletRequest request,
+                                             HttpServletResponse response) throws IOException {
+        long retryAfter = limiter.acquire(request);
+        if (retryAfter == 0) {
+            return false;
+        }
+        response.setHeader("Retry-After", Long.toString(retryAfter));
+        response.sendError(SC_TOO_MANY_REQUESTS, "Trop de requêtes");
+        return true;
+    }
 
-        PrintWriter out = response.getWriter();
+    /**
+     * 503 + Retry-After : le client peut réessayer plus tard
+     */
+    private static void sendOverloaded(HttpServletResponse response, String message) throws IOException {
+        response.setHeader("Retry-After", "1");
+        response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, message);
+    }
 
-        if (matched == null) {
-            out.println("<h1>404 - No route matches " + httpMethod + " " + path + "</h1>");
+    /**
+     * Route @VirtualThreads : le traitement complet (multipart, binding, appel, réponse)
+     * part sur un thread virtuel, le thread du conteneur est rendu tout de suite
+     */
+    private void dispatchOnVirtualThread(VirtualThreadDispatcher dispatcher, RouteMapping matched,
+                                         Object[] extractedParams, HttpServletRequest request,
+                                         HttpServletResponse response) throws IOException {
+        if (!dispatcher.tryAcquire()) {
+            sendOverloaded(response, "Serveur surchargé");
+            return;
+        }
+
+        AsyncExchange exchange = AsyncExchange.start(request, response, asyncTimeout);
+        // Copie faite ici : après un 503 sur délai, le thread virtuel ne lit plus la requête du conteneur
+        HttpServletRequest detached = new DetachedRequest(request, exchange);
+        Future<?> task = dispatcher.submit(() -> {
+            try {
+                processRequest(matched, extractedParams, detached, response, exchange);
+            } catch (Exception e) {
+                System.err.println("[FrontServlet] Erreur sur le thread virtuel: " + e);
+            }
+        });
+        if (task == null) {
+            if (exchange.claim()) {
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Serveur arrêté");
+                exchange.complete();
+            }
+            return;
+        }
+        // Délai dépassé : interrompre le contrôleur bloqué
+        exchange.onTimeout(() -> task.cancel(true));
+    }
+
+    /**
+     * Multipart, binding des arguments, appel du contrôleur et réponse
+     *
+     * @param exchange requête asynchrone (thread virtuel), ou null sur le thread du conteneur :
+     *                 la réponse n'est alors écrite que si claim() réussit, puis complete() ;
+     *                 request est alors une DetachedRequest, rattachée après claim()
+     */
+    private void processRequest(RouteMapping matched, Object[] extractedParams,
+                                HttpServletRequest request, HttpServletResponse response,
+                                AsyncExchange exchange) throws ServletException, IOException {
+
+        // Délai déjà expiré (503 envoyé) : rien à faire
+        if (exchange != null && exchange.isFinished()) {
             return;
         }
 
@@ -112,62 +307,204 @@ public class FrontServlet extends HttpServlet {
                 System.out.println("[FrontServlet] Requête multipart détectée, fichiers: " + 
                                  ((Map<?, ?>) multipartData.get("files")).size());
             } catch (Exception e) {
-                response.sendError(HttpServletResponse.SC_BAD_REQUEST, 
-                                 "Erreur lors du traitement du fichier: " + e.getMessage());
+                if (exchange == null || exchange.claim()) {
+                    response.sendError(HttpServletResponse.SC_BAD_REQUEST, 
+                                     "Erreur lors du traitement du fichier: " + e.getMessage());
+                    if (exchange != null) {
+                        exchange.complete();
+                    }
+                }
                 return;
             }
         }
 
         // --- EXECUTE CONTROLLER METHOD ---
+        Object result;
         try {
-            Method method = matched.getMethod();
             Object controller = matched.getController();
 
             // Construction des arguments de la méthode
-            Object[] args = buildMethodArguments(method, extractedParams, request, multipartData);
+            if (exchange != null && exchange.isFinished()) {
+                return;
+            }
+            Object[] args = buildMethodArguments(matched, extractedParams, request, multipartData);
 
-            Object result = method.invoke(controller, args);
+            if (exchange != null && exchange.isFinished()) {
+                return;
+            }
+            result = matched.getInvoker().invoke(controller, args);
 
-            // --- SPRINT 9: VÉRIFIER SI C'EST UNE API JSON ---
-            if (method.isAnnotationPresent(JSON.class)) {
-                handleJsonResponse(method, result, response);
+            // --- RÉSULTAT ASYNCHRONE (CompletableFuture / CompletionStage) ---
+            if (result instanceof CompletionStage) {
+                handleAsyncResult(matched, (CompletionStage<?>) result, request, response);
                 return;
             }
 
-            // --- HANDLE ModelView ---
-            if (result instanceof ModelView) {
-                ModelView mv = (ModelView) result;
+            if (exchange == null) {
+                handleResult(matched, result, request, response, null);
+                return;
+            }
 
-                // REDIRECT ?
-                if (mv.isRedirect()) {
-                    String redirectUrl = mv.getView();
-                    
-                    // Gestion du context path
-                    if (redirectUrl.startsWith("/") && !redirectUrl.startsWith(ctx)) {
-                        redirectUrl = ctx + redirectUrl;
-                        System.out.println("[Redirect] " + mv.getView() + " → " + redirectUrl);
-                    }
-                    
-                    response.sendRedirect(redirectUrl);
-                    return;
+        } catch (RequestBodyException e) {
+            // Corps @RequestBody refusé : le contrôleur n'est pas appelé
+            if (exchange == null || exchange.claim()) {
+                response.sendError(e.getStatus(), e.getMessage());
+                if (exchange != null) {
+                    exchange.complete();
                 }
+            }
+            return;
+        } catch (Exception e) {
+            if (exchange == null) {
+                if (response.isCommitted()) {
+                    // Réponse déjà partie (JSON en flux) : laisser le conteneur interrompre la connexion
+                    throw new ServletException(e);
+                }
+                e.printStackTrace(response.getWriter());
+            } else if (exchange.claim()) {
+                e.printStackTrace(response.getWriter());
+                exchange.complete();
+            }
+            return;
+        }
 
-                // Add data
-                for (Map.Entry<String, Object> entry : mv.getData().entrySet()) {
-                    request.setAttribute(entry.getKey(), entry.getValue());
+        // --- RÉPONSE DEPUIS LE THREAD VIRTUEL ---
+        if (!exchange.claim()) {
+            return;
+        }
+        boolean dispatched = false;
+        try {
+            dispatched = handleResult(matched, result, DetachedRequest.attach(request), response,
+                                      exchange.getContext());
+        } catch (Exception e) {
+            if (response.isCommitted()) {
+                // Pas d'interruption possible depuis un thread asynchrone : la réponse est incomplète
+                System.err.println("[FrontServlet] Réponse interrompue sur le thread virtuel: " + e);
+            } else {
+                e.printStackTrace(response.getWriter());
+            }
+        } finally {
+            if (!dispatched) {
+                exchange.complete();
+            }
+        }
+    }
+
+    /**
+     * Traite la valeur retournée par le contrôleur : JSON, ModelView (redirect / forward) ou texte
+     *
+     * @param async contexte asynchrone (null en synchrone) : le forward passe alors par AsyncContext.dispatch()
+     * @return true si la requête a été dispatchée vers une vue (async : ne pas appeler complete())
+     */
+    private boolean handleResult(RouteMapping matched, Object result, HttpServletRequest request,
+                                 HttpServletResponse response, AsyncContext async) 
+            throws ServletException, IOException {
+        
+        // --- SPRINT 9: VÉRIFIER SI C'EST UNE API JSON ---
+        if (matched.isJson()) {
+            handleJsonResponse(matched, result, response);
+            return false;
+        }
+
+        // --- HANDLE ModelView ---
+        if (result instanceof ModelView) {
+            ModelView mv = (ModelView) result;
+
+            // REDIRECT ?
+            if (mv.isRedirect()) {
+                String redirectUrl = mv.getView();
+                String ctx = request.getContextPath();
+                
+                // Gestion du context path
+                if (redirectUrl.startsWith("/") && !redirectUrl.startsWith(ctx)) {
+                    redirectUrl = ctx + redirectUrl;
+                    System.out.println("[Redirect] " + mv.getView() + " → " + redirectUrl);
                 }
+                
+                response.sendRedirect(redirectUrl);
+                return false;
+            }
+
+            // Add data
+            for (Map.Entry<String, Object> entry : mv.getData().entrySet()) {
+                request.setAttribute(entry.getKey(), entry.getValue());
+            }
 
-                RequestDispatcher rd = request.getRequestDispatcher("/WEB-INF/views/" + mv.getView());
+            String view = "/WEB-INF/views/" + mv.getView();
+            if (async != null) {
+                async.dispatch(view);
+            } else {
+                RequestDispatcher rd = request.getRequestDispatcher(view);
                 rd.forward(request, response);
+            }
+            return true;
+        }
+
+        // --- RESULT NOT ModelView ---
+        response.getWriter().println("<h3>Controller returned : " + result + "</h3>");
+        return false;
+    }
+
+    /**
+     * Méthode de contrôleur retournant un CompletableFuture / CompletionStage
+     *
+     * Avec le support asynchrone (asyncSupported=true sur le servlet et ses filtres) :
+     * request.startAsync(), le thread du conteneur est libéré tout de suite,
+     * la réponse (JSON, redirect, vue) est produite à la complétion du future.
+     * Délai max : paramètre asyncTimeout en ms (défaut 30000), puis 503.
+     * Sans support asynchrone : attente synchrone du résultat (même délai).
+     */
+    private void handleAsyncResult(RouteMapping matched, CompletionStage<?> stage,
+                                   HttpServletRequest request, HttpServletResponse response) 
+            throws Exception {
+        
+        if (!request.isAsyncSupported()) {
+            Object result;
+            try {
+                result = stage.toCompletableFuture().get(asyncTimeout, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Délai de traitement dépassé");
                 return;
+            } catch (ExecutionException e) {
+                throw unwrap(e.getCause());
             }
+            handleResult(matched, result, request, response, null);
+            return;
+        }
 
-            // --- RESULT NOT ModelView ---
-            out.println("<h3>Controller returned : " + result + "</h3>");
+        AsyncExchange exchange = AsyncExchange.start(request, response, asyncTimeout);
+        exchange.onTimeout(() -> stage.toCompletableFuture().cancel(false));
 
-        } catch (Exception e) {
-            e.printStackTrace(out);
+        // Une seule issue : complétion du future ou expiration du délai
+        stage.whenComplete((result, error) -> {
+            if (!exchange.claim()) {
+                return;
+            }
+            boolean dispatched = false;
+            try {
+                if (error != null) {
+                    unwrap(error).printStackTrace(response.getWriter());
+                } else {
+                    dispatched = handleResult(matched, result, DetachedRequest.attach(request), response,
+                                              exchange.getContext());
+                }
+            } catch (Exception e) {
+                System.err.println("[FrontServlet] Erreur à la complétion asynchrone: " + e);
+                e.printStackTrace();
+            } finally {
+                if (!dispatched) {
+                    exchange.complete();
+                }
+            }
+        });
+    }
+
+    private static Exception unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
         }
+        return error instanceof Exception ? (Exception) error : new ExecutionException(error);
     }
 
     /**
@@ -263,179 +600,240 @@ public class FrontServlet extends HttpServlet {
     /**
      * SPRINT 9 : Gère les réponses JSON
      */
-    private void handleJsonResponse(Method method, Object result, HttpServletResponse response) 
+    private void handleJsonResponse(RouteMapping route, Object result, HttpServletResponse response) 
             throws IOException {
         
-        JSON jsonAnnotation = method.getAnnotation(JSON.class);
-        
         // Définir le statut HTTP
-        response.setStatus(jsonAnnotation.status());
+        response.setStatus(route.getJsonStatus());
         
         // Définir le Content-Type
-        response.setContentType(jsonAnnotation.contentType() + "; charset=UTF-8");
+        response.setContentType(route.getJsonContentType() + "; charset=UTF-8");
         
-        // Sérialiser le résultat en JSON
-        String jsonResult;
-        if (result == null) {
-            jsonResult = "null";
-        } else if (result instanceof String) {
-            // Si c'est déjà une chaîne, vérifier si c'est déjà du JSON
-            String strResult = (String) result;
-            if (strResult.trim().startsWith("{") || strResult.trim().startsWith("[")) {
-                jsonResult = strResult;
-            } else {
-                jsonResult = "\"" + escapeJsonString(strResult) + "\"";
-            }
-        } else {
-            // Sérialiser l'objet
-            jsonResult = JsonSerializer.toJson(result);
+        // Sérialiser le résultat en JSON, en flux vers la réponse (tampon borné)
+        OutputStream out;
+        try {
+            out = response.getOutputStream();
+        } catch (IllegalStateException e) {
+            // getWriter() déjà appelé : ancien chemin, via une chaîne
+            response.getWriter().print(toJsonString(result, route.getJsonDateFormat()));
+            response.getWriter().flush();
+            return;
         }
         
-        // Écrire la réponse
-        PrintWriter out = response.getWriter();
-        out.print(jsonResult);
+        if (result instanceof String && looksLikeJson((String) result)) {
+            // Si c'est déjà une chaîne JSON, l'écrire telle quelle
+            byte[] bytes = ((String) result).getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(bytes.length);
+            out.write(bytes);
+        } else {
+            // Réponse tenant dans le tampon : Content-Length exact (pas de réponse "chunked")
+            try (JsonWriter writer = JsonWriter.open(out, response::setContentLength)
+                                               .withDateFormat(route.getJsonDateFormat())) {
+                JsonSerializer.write(result, writer);
+                writer.finish();
+            } catch (RuntimeException | IOException e) {
+                // getOutputStream() déjà pris : jamais de getWriter() ici
+                System.err.println("[FrontServlet] Erreur de sérialisation JSON: " + e);
+                if (response.isCommitted()) {
+                    // Premiers 8 Ko déjà envoyés avec le 200 : le statut ne peut plus changer.
+                    // Exception relancée : le conteneur coupe la connexion (pas de fin de flux
+                    // "chunked"), le client voit une réponse incomplète et non un JSON tronqué valide
+                    throw e;
+                }
+                response.resetBuffer();
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Erreur de sérialisation JSON");
+                return;
+            }
+        }
         out.flush();
-        
-        // Log pour le débogage
-        System.out.println("[JSON API] Retour JSON: " + 
-                          method.getDeclaringClass().getSimpleName() + "." + 
-                          method.getName() + " -> " + 
-                          (jsonResult.length() > 100 ? jsonResult.substring(0, 100) + "..." : jsonResult));
     }
     
     /**
-     * SPRINT 9 : Échappe une chaîne pour JSON
+     * Chaîne commençant par '{' ou '[' : considérée comme du JSON déjà formé
      */
-    private String escapeJsonString(String str) {
-        if (str == null) {
-            return "";
+    private static boolean looksLikeJson(String text) {
+        String trimmed = text.trim();
+        return trimmed.startsWith("{") || trimmed.startsWith("[");
+    }
+    
+    private static String toJsonString(Object result, String dateFormat) {
+        if (result instanceof String && looksLikeJson((String) result)) {
+            return (String) result;
         }
-        
-        return str.replace("\\", "\\\\")
-                 .replace("\"", "\\\"")
-                 .replace("\n", "\\n")
-                 .replace("\r", "\\r")
-                 .replace("\t", "\\t");
+        return JsonSerializer.toJson(result, dateFormat);
     }
 
     /**
      * SPRINT 10 : Construit les arguments pour une méthode de contrôleur avec support fichiers
+     * (boucle sur le plan de binding compilé à l'enregistrement de la route)
      */
     private Object[] buildMethodArguments(
-            Method method, 
-            String[] extractedParams, 
+            RouteMapping route, 
+            Object[] extractedParams, 
             HttpServletRequest request,
             Map<String, Object> multipartData) {
         
-        Parameter[] parameters = method.getParameters();
-        Object[] args = new Object[parameters.length];
-        int extractedIndex = 0;
+        ArgumentResolver[] resolvers = route.getResolvers();
+        Object[] args = new Object[resolvers.length];
+        for (int i = 0; i < resolvers.length; i++) {
+            args[i] = resolvers[i].resolve(request, extractedParams, multipartData);
+        }
+        return args;
+    }
+
+    /**
+     * Compile le plan de binding d'une route : un résolveur spécialisé par paramètre
+     * Même priorité que l'ancienne résolution par annotations (voir ParameterSpec)
+     */
+    private ArgumentResolver[] compileBindingPlan(ParameterSpec[] specs, Type[] genericTypes) {
+        ArgumentResolver[] resolvers = new ArgumentResolver[specs.length];
+        boolean rawQuery = rawQueryParameters;
         
-        for (int i = 0; i < parameters.length; i++) {
-            Parameter param = parameters[i];
-            Class<?> paramType = param.getType();
+        for (int i = 0; i < specs.length; i++) {
+            ParameterSpec spec = specs[i];
+            Class<?> paramType = spec.getType();
+            String paramName = spec.getName();
             
-            // Cas 1: @FileParam annotation (SPRINT 10)
-            if (param.isAnnotationPresent(FileParam.class)) {
-                String paramName = param.getAnnotation(FileParam.class).value();
+            switch (spec.getKind()) {
+                // Cas 1: @FileParam annotation (SPRINT 10)
+                case FILE: {
+                    Object defaultValue = getDefaultValue(paramType);
+                    resolvers[i] = (request, pathValues, multipartData) -> {
+                        if (multipartData != null) {
+                            Map<String, byte[]> files = (Map<String, byte[]>) multipartData.get("files");
+                            if (files != null && files.containsKey(paramName)) {
+                                return files.get(paramName);
+                            }
+                        }
+                        return defaultValue;
+                    };
+                    break;
+                }
                 
-                if (multipartData != null) {
-                    Map<String, byte[]> files = (Map<String, byte[]>) multipartData.get("files");
-                    if (files != null && files.containsKey(paramName)) {
-                        args[i] = files.get(paramName);
-                        continue;
+                // Cas 2: @ModelAttribute annotation avec fichiers (SPRINT 10)
+                case MODEL_ATTRIBUTE:
+                    if (Map.class.isAssignableFrom(paramType)) {
+                        resolvers[i] = (request, pathValues, multipartData) -> 
+                                createExtendedRequestMap(request, multipartData);
+                    } else if (paramType.isArray() || List.class.isAssignableFrom(paramType)) {
+                        // Type des éléments résolu ici, depuis la signature générique
+                        CollectionBinder binder = CollectionBinder.of(paramType, genericTypes[i], paramName);
+                        resolvers[i] = (request, pathValues, multipartData) -> 
+                                binder.bind(request, multipartData);
+                    } else {
+                        resolvers[i] = (request, pathValues, multipartData) -> 
+                                bindToObjectWithFiles(paramType, request, multipartData);
                     }
+                    break;
+                
+                // Cas 2 bis: @RequestBody, corps JSON lu en flux
+                case REQUEST_BODY: {
+                    JsonBodyBinder binder = JsonBodyBinder.of(paramType, genericTypes[i], 
+                                                              requestBodyMaxBytes, requestBodyMaxDepth);
+                    resolvers[i] = (request, pathValues, multipartData) -> binder.bind(request);
+                    break;
                 }
-                args[i] = getDefaultValue(paramType);
-            }
-            
-            // Cas 2: @ModelAttribute annotation avec fichiers (SPRINT 10)
-            else if (param.isAnnotationPresent(ModelAttribute.class)) {
-                // Si le paramètre est une Map, utiliser createRequestMap étendu
-                if (Map.class.isAssignableFrom(paramType)) {
-                    Map<String, Object> requestMap = createExtendedRequestMap(request, multipartData);
-                    args[i] = requestMap;
-                } 
-                // Si c'est une liste ou un tableau
-                else if (paramType.isArray() || List.class.isAssignableFrom(paramType)) {
-                    args[i] = bindToCollection(paramType, request, multipartData);
-                }
-                // Sinon, binder à un objet avec support fichiers
-                else {
-                    args[i] = bindToObjectWithFiles(paramType, request, multipartData);
-                }
-            }
-            
-            // Cas 3: Paramètre Map<String, Object> (reçoit tout)
-            else if (Map.class.isAssignableFrom(paramType)) {
-                Map<String, Object> requestMap = createExtendedRequestMap(request, multipartData);
-                args[i] = requestMap;
-            }
-            
-            // Cas 4: Paramètre avec annotation @RequestParam
-            else if (param.isAnnotationPresent(RequestParam.class)) {
-                String paramName = param.getAnnotation(RequestParam.class).value();
-                String value = null;
                 
-                // Chercher d'abord dans les paramètres multipart
-                if (multipartData != null) {
-                    Map<String, String[]> multipartParams = 
-                        (Map<String, String[]>) multipartData.get("parameters");
-                    if (multipartParams != null && multipartParams.containsKey(paramName)) {
-                        String[] values = multipartParams.get(paramName);
-                        value = values != null && values.length > 0 ? values[0] : null;
-                    }
+                // Cas 3: Paramètre Map<String, Object> (reçoit tout)
+                case REQUEST_MAP:
+                    resolvers[i] = (request, pathValues, multipartData) -> 
+                            createExtendedRequestMap(request, multipartData);
+                    break;
+                
+                // Cas 4: Paramètre avec annotation @RequestParam
+                case REQUEST_PARAM: {
+                    TypeConverter converter = ConverterRegistry.lookup(paramType, spec.getDateFormat());
+                    Object emptyValue = getDefaultValue(paramType);
+                    resolvers[i] = (request, pathValues, multipartData) -> {
+                        String value = null;
+                        
+                        // Chercher d'abord dans les paramètres multipart
+                        if (multipartData != null) {
+                            Map<String, String[]> multipartParams = 
+                                (Map<String, String[]>) multipartData.get("parameters");
+                            if (multipartParams != null && multipartParams.containsKey(paramName)) {
+                                String[] values = multipartParams.get(paramName);
+                                value = values != null && values.length > 0 ? values[0] : null;
+                            }
+                        }
+                        
+                        // GET : lecture directe dans la query string (option rawQueryParameters)
+                        boolean found = false;
+                        if (value == null && rawQuery && multipartData == null 
+                                && "GET".equals(request.getMethod())) {
+                            value = RawQueryParameters.get(request.getQueryString(), paramName);
+                            found = value != RawQueryParameters.MALFORMED;
+                            if (!found) {
+                                value = null;
+                            }
+                        }
+                        
+                        // Fallback sur request.getParameter()
+                        if (value == null && !found) {
+                            value = request.getParameter(paramName);
+                        }
+                        
+                        return convertRequestValue(request, paramName, value, paramType, converter, emptyValue);
+                    };
+                    break;
                 }
                 
-                // Fallback sur request.getParameter()
-                if (value == null) {
-                    value = request.getParameter(paramName);
+                // Cas 5: Paramètre extrait de l'URL
+                case PATH_VARIABLE: {
+                    int index = spec.getPathIndex();
+                    String name = "{" + index + "}";
+                    TypeConverter converter = ConverterRegistry.lookup(paramType, spec.getDateFormat());
+                    Object emptyValue = getDefaultValue(paramType);
+                    resolvers[i] = (request, pathValues, multipartData) -> {
+                        Object value = pathValues[index];
+                        // Valeur déjà typée par la contrainte ({id:int}, {id:uuid}...) : valide
+                        if (value != null && !(value instanceof String)) {
+                            return ParamHandler.convertPathValue(value, paramType);
+                        }
+                        // Texte : erreur de conversion signalée dans BindingErrors, comme @RequestParam
+                        return convertRequestValue(request, name, (String) value, paramType, converter, emptyValue);
+                    };
+                    break;
                 }
                 
-                args[i] = ParamHandler.convert(value, paramType);
-            }
-            
-            // Cas 5: Paramètre extrait de l'URL
-            else if (extractedIndex < extractedParams.length) {
-                args[i] = ParamHandler.convert(extractedParams[extractedIndex], paramType);
-                extractedIndex++;
-            }
-            
-            // Cas 6: Valeur par défaut
-            else {
-                args[i] = getDefaultValue(paramType);
+                // Cas 6: Valeur par défaut
+                default: {
+                    Object defaultValue = getDefaultValue(paramType);
+                    resolvers[i] = (request, pathValues, multipartData) -> defaultValue;
+                }
             }
         }
         
-        return args;
+        return resolvers;
+    }
+    
+    /**
+     * Convertit une valeur de requête : vide → valeur par défaut,
+     * valeur invalide → valeur par défaut + erreur dans BindingErrors (sans exception)
+     */
+    private static Object convertRequestValue(
+            HttpServletRequest request, String name, String value,
+            Class<?> type, TypeConverter converter, Object emptyValue) {
+        
+        if (value == null || value.isEmpty()) {
+            return emptyValue;
+        }
+        Object converted = converter != null ? converter.convert(value) : TypeConverter.INVALID;
+        if (converted == TypeConverter.INVALID) {
+            BindingErrors.reject(request, name, value, type);
+            return emptyValue;
+        }
+        return converted;
     }
     
     /**
      * SPRINT 10 : Crée une Map étendue avec paramètres + fichiers
+     * (vue paresseuse : les valeurs ne sont converties qu'à la lecture, voir LazyRequestMap)
      */
     private Map<String, Object> createExtendedRequestMap(
             HttpServletRequest request, 
             Map<String, Object> multipartData) {
-        
-        Map<String, Object> requestMap = createRequestMap(request);
-        
-        // Ajouter les données multipart si présentes
-        if (multipartData != null) {
-            requestMap.putAll(multipartData);
-            
-            // Ajouter un flag pour indiquer qu'il y a des fichiers
-            requestMap.put("hasFiles", true);
-            
-            // Ajouter un accès facile aux fichiers
-            Map<String, byte[]> files = (Map<String, byte[]>) multipartData.get("files");
-            if (files != null && !files.isEmpty()) {
-                requestMap.put("uploadedFiles", files.keySet());
-            }
-        } else {
-            requestMap.put("hasFiles", false);
-        }
-        
-        return requestMap;
+        return new LazyRequestMap(request, multipartData);
     }
     
     /**
@@ -446,8 +844,9 @@ public class FrontServlet extends HttpServlet {
             HttpServletRequest request, 
             Map<String, Object> multipartData) {
         
+        BeanBinder binder = BeanBinder.of(targetClass);
         try {
-            Object instance = targetClass.getDeclaredConstructor().newInstance();
+            Object instance = binder.newInstance();
             
             // Pour chaque paramètre de la requête (normaux)
             Enumeration<String> paramNames = request.getParameterNames();
@@ -458,11 +857,11 @@ public class FrontServlet extends HttpServlet {
                 // Utiliser la première valeur pour les propriétés simples
                 String paramValue = (paramValues != null && paramValues.length > 0) ? paramValues[0] : null;
                 
-                // Gérer les propriétés imbriquées (ex: "user.address.street")
-                if (paramName.contains(".")) {
-                    bindNestedProperty(instance, paramName, paramValue);
+                // Gérer les propriétés imbriquées (ex: "user.address.street", "items[3].qty")
+                if (isNestedPath(paramName)) {
+                    bindNestedProperty(request, instance, paramName, paramValue);
                 } else {
-                    bindSimpleProperty(instance, paramName, paramValue);
+                    bindSimpleProperty(request, binder, instance, paramName, paramValue);
                 }
             }
             
@@ -477,40 +876,21 @@ public class FrontServlet extends HttpServlet {
                         String[] values = entry.getValue();
                         String paramValue = values != null && values.length > 0 ? values[0] : null;
                         
-                        if (paramName.contains(".")) {
-                            bindNestedProperty(instance, paramName, paramValue);
+                        if (isNestedPath(paramName)) {
+                            bindNestedProperty(request, instance, paramName, paramValue);
                         } else {
-                            bindSimpleProperty(instance, paramName, paramValue);
+                            bindSimpleProperty(request, binder, instance, paramName, paramValue);
                         }
                     }
                 }
                 
-                // Gérer les fichiers (SPRINT 10)
+                // Gérer les fichiers (SPRINT 10) : setter ou champ de type byte[]
                 Map<String, byte[]> files = (Map<String, byte[]>) multipartData.get("files");
                 if (files != null) {
                     for (Map.Entry<String, byte[]> entry : files.entrySet()) {
-                        String fieldName = entry.getKey();
-                        byte[] fileBytes = entry.getValue();
-                        
-                        // Essayer de trouver un setter pour le fichier
-                        String setterName = "set" + capitalize(fieldName);
-                        Method setter = findMethod(targetClass, setterName, byte[].class);
-                        
-                        if (setter != null) {
-                            System.out.println("[FrontServlet] Appel setter " + setterName + 
-                                             " avec " + fileBytes.length + " bytes");
-                            setter.invoke(instance, fileBytes);
-                        } else {
-                            // Si pas de setter spécifique, essayer de stocker dans un champ
-                            try {
-                                Field field = targetClass.getDeclaredField(fieldName);
-                                if (field.getType() == byte[].class) {
-                                    field.setAccessible(true);
-                                    field.set(instance, fileBytes);
-                                }
-                            } catch (NoSuchFieldException e) {
-                                // Ignorer si pas de champ correspondant
-                            }
+                        BeanBinder.Property property = binder.getProperty(entry.getKey());
+                        if (property != null && property.getType() == byte[].class) {
+                            property.write(instance, entry.getValue());
                         }
                     }
                 }
@@ -523,7 +903,7 @@ public class FrontServlet extends HttpServlet {
             e.printStackTrace();
             try {
                 // Retourner une instance vide en cas d'erreur
-                return targetClass.getDeclaredConstructor().newInstance();
+                return binder.newInstance();
             } catch (Exception ex) {
                 return null;
             }
@@ -532,114 +912,35 @@ public class FrontServlet extends HttpServlet {
     
     /**
      * SPRINT 8 BIS : Lie une propriété simple à l'objet
+     * (setter ou champ pré-résolu par le BeanBinder de la classe)
      */
-    private void bindSimpleProperty(Object obj, String propertyName, String value) {
+    private void bindSimpleProperty(
+            HttpServletRequest request, BeanBinder binder, Object obj, String propertyName, String value) {
         try {
-            Class<?> clazz = obj.getClass();
-            String setterName = "set" + capitalize(propertyName);
-            
-            // Chercher le setter
-            Method setter = findMethod(clazz, setterName);
-            if (setter != null && setter.getParameterCount() == 1) {
-                Class<?> paramType = setter.getParameterTypes()[0];
-                Object convertedValue = convertValue(value, paramType);
-                
-                if (convertedValue != null || !paramType.isPrimitive()) {
-                    setter.setAccessible(true);
-                    setter.invoke(obj, convertedValue);
-                }
-                return;
+            // Ignorer si la propriété n'existe pas
+            if (!binder.bind(obj, propertyName, value)) {
+                BindingErrors.reject(request, propertyName, value, binder.getProperty(propertyName).getType());
             }
-            
-            // Essayer avec les champs directement
-            try {
-                Field field = clazz.getDeclaredField(propertyName);
-                field.setAccessible(true);
-                Object convertedValue = convertValue(value, field.getType());
-                
-                if (convertedValue != null || !field.getType().isPrimitive()) {
-                    field.set(obj, convertedValue);
-                }
-            } catch (NoSuchFieldException e) {
-                // Ignorer si le champ n'existe pas
-            }
-            
         } catch (Exception e) {
             System.err.println("[FrontServlet] Erreur lors du binding de la propriété " + propertyName);
             e.printStackTrace();
         }
     }
     
+    private static boolean isNestedPath(String paramName) {
+        return paramName.indexOf('.') >= 0 || paramName.indexOf('[') >= 0;
+    }
+    
     /**
      * SPRINT 8 BIS : Lie une propriété imbriquée à l'objet
+     * (chaîne d'accesseurs compilée une fois par classe et par chemin, voir PropertyPath)
      */
-    private void bindNestedProperty(Object obj, String propertyPath, String value) {
+    private void bindNestedProperty(HttpServletRequest request, Object obj, String propertyPath, String value) {
         try {
-            String[] parts = propertyPath.split("\\.");
-            Object currentObj = obj;
-            
-            // Naviguer jusqu'à l'avant-dernier niveau
-            for (int i = 0; i < parts.length - 1; i++) {
-                String part = parts[i];
-                Class<?> currentClass = currentObj.getClass();
-                
-                // Chercher le getter
-                String getterName = "get" + capitalize(part);
-                Method getter = findMethod(currentClass, getterName);
-                
-                if (getter == null) {
-                    getterName = "is" + capitalize(part);
-                    getter = findMethod(currentClass, getterName);
-                }
-                
-                if (getter != null) {
-                    Object nestedObj = getter.invoke(currentObj);
-                    
-                    // Si l'objet imbriqué est null, le créer
-                    if (nestedObj == null) {
-                        Class<?> nestedClass = getter.getReturnType();
-                        nestedObj = nestedClass.getDeclaredConstructor().newInstance();
-                        
-                        // Appeler le setter pour l'affecter
-                        String setterName = "set" + capitalize(part);
-                        Method setter = findMethod(currentClass, setterName, nestedClass);
-                        if (setter != null) {
-                            setter.invoke(currentObj, nestedObj);
-                        } else {
-                            // Si pas de setter, essayer le champ directement
-                            Field field = currentClass.getDeclaredField(part);
-                            field.setAccessible(true);
-                            field.set(currentObj, nestedObj);
-                        }
-                    }
-                    
-                    currentObj = nestedObj;
-                } else {
-                    // Essayer d'accéder directement au champ
-                    try {
-                        Field field = currentClass.getDeclaredField(part);
-                        field.setAccessible(true);
-                        Object nestedObj = field.get(currentObj);
-                        
-                        if (nestedObj == null) {
-                            nestedObj = field.getType().getDeclaredConstructor().newInstance();
-                            field.set(currentObj, nestedObj);
-                        }
-                        
-                        currentObj = nestedObj;
-                    } catch (NoSuchFieldException e) {
-                        // Si le champ n'existe pas, créer un objet dynamique ?
-                        System.err.println("[FrontServlet] Propriété non trouvée: " + part + 
-                                         " dans " + currentClass.getName());
-                        return;
-                    }
-                }
+            PropertyPath path = PropertyPath.of(obj.getClass(), propertyPath);
+            if (path != null && !path.bind(obj, value)) {
+                BindingErrors.reject(request, propertyPath, value, path.getValueType());
             }
-            
-            // Lier la dernière propriété
-            String lastPart = parts[parts.length - 1];
-            bindSimpleProperty(currentObj, lastPart, value);
-            
         } catch (Exception e) {
             System.err.println("[FrontServlet] Erreur lors du binding de la propriété imbriquée: " + 
                              propertyPath);
@@ -648,440 +949,417 @@ public class FrontServlet extends HttpServlet {
     }
     
     /**
-     * SPRINT 8 BIS : Convertit une valeur String vers un type cible
+     * Retourne la valeur par défaut pour un type donné
      */
-    private Object convertValue(String value, Class<?> targetType) {
-        if (value == null || value.trim().isEmpty()) {
-            // Pour les primitives, retourner la valeur par défaut
-            if (targetType.isPrimitive()) {
-                if (targetType == int.class) return 0;
-                else if (targetType == double.class) return 0.0;
-                else if (targetType == boolean.class) return false;
-                else if (targetType == long.class) return 0L;
-                else if (targetType == float.class) return 0.0f;
-                else if (targetType == short.class) return (short)0;
-                else if (targetType == byte.class) return (byte)0;
-                else if (targetType == char.class) return '\0';
-            }
-            return null;
-        }
-        
-        try {
-            if (targetType == String.class) {
-                return value;
-            } else if (targetType == Integer.class || targetType == int.class) {
-                return Integer.parseInt(value);
-            } else if (targetType == Long.class || targetType == long.class) {
-                return Long.parseLong(value);
-            } else if (targetType == Double.class || targetType == double.class) {
-                return Double.parseDouble(value);
-            } else if (targetType == Float.class || targetType == float.class) {
-                return Float.parseFloat(value);
-            } else if (targetType == Boolean.class || targetType == boolean.class) {
-                return Boolean.parseBoolean(value);
-            } else if (targetType == LocalDate.class) {
-                return LocalDate.parse(value);
-            } else if (targetType == LocalDateTime.class) {
-                return LocalDateTime.parse(value);
-            } else if (Enum.class.isAssignableFrom(targetType)) {
-                return Enum.valueOf((Class<Enum>)targetType, value);
-            }
-        } catch (Exception e) {
-            System.err.println("[FrontServlet] Erreur de conversion: " + value + " -> " + 
-                             targetType.getName());
-        }
-        
-        return value;
+    private Object getDefaultValue(Class<?> type) {
+        return ConverterRegistry.defaultValue(type);
     }
-    
+
     /**
-     * SPRINT 8 BIS : Lie les paramètres à une collection
+     * Limite globale (paramètres rateLimit, rateLimitPeriod, rateLimitBurst, rateLimitMaxClients)
+     *
+     * @param keySpec "ip" (défaut), "session" ou "header:X-Api-Key"
      */
-    private Object bindToCollection(
-            Class<?> collectionType, 
-            HttpServletRequest request, 
-            Map<String, Object> multipartData) {
-        
-        try {
-            // Pour les tableaux
-            if (collectionType.isArray()) {
-                Class<?> componentType = collectionType.getComponentType();
-                
-                // Chercher les paramètres qui pourraient correspondre à un tableau
-                List<Object> values = new ArrayList<>();
-                
-                // Chercher dans les paramètres normaux
-                Enumeration<String> paramNames = request.getParameterNames();
-                while (paramNames.hasMoreElements()) {
-                    String paramName = paramNames.nextElement();
-                    
-                    // Si c'est le paramètre principal (sans suffixe)
-                    if (paramName.equals(collectionType.getSimpleName().toLowerCase())) {
-                        String[] paramValues = request.getParameterValues(paramName);
-                        if (paramValues != null) {
-                            for (String val : paramValues) {
-                                values.add(convertValue(val, componentType));
-                            }
-                        }
-                    }
-                    // Si c'est un paramètre avec crochets (ex: "hobbies[]")
-                    else if (paramName.matches(".*\\[\\d*\\]")) {
-                        String baseName = paramName.replaceAll("\\[\\d*\\]", "");
-                        if (baseName.equalsIgnoreCase(collectionType.getSimpleName())) {
-                            String paramValue = request.getParameter(paramName);
-                            values.add(convertValue(paramValue, componentType));
-                        }
-                    }
-                }
-                
-                // Chercher dans les paramètres multipart
-                if (multipartData != null) {
-                    Map<String, String[]> multipartParams = 
-                        (Map<String, String[]>) multipartData.get("parameters");
-                    
-                    if (multipartParams != null) {
-                        for (Map.Entry<String, String[]> entry : multipartParams.entrySet()) {
-                            String paramName = entry.getKey();
-                            String[] paramValues = entry.getValue();
-                            
-                            if (paramName.equals(collectionType.getSimpleName().toLowerCase())) {
-                                if (paramValues != null) {
-                                    for (String val : paramValues) {
-                                        values.add(convertValue(val, componentType));
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-                
-                // Créer le tableau
-                Object array = Array.newInstance(componentType, values.size());
-                for (int i = 0; i < values.size(); i++) {
-                    Array.set(array, i, values.get(i));
-                }
-                return array;
+    private RateLimiter createRateLimiter(int requests, String keySpec) {
+        RateLimit.Key key = RateLimit.Key.IP;
+        String header = "";
+        if (keySpec != null) {
+            if (keySpec.regionMatches(true, 0, "header:", 0, 7)) {
+                key = RateLimit.Key.HEADER;
+                header = keySpec.substring(7).trim();
+            } else if ("session".equalsIgnoreCase(keySpec)) {
+                key = RateLimit.Key.SESSION;
             }
-            // Pour les List
-            else if (List.class.isAssignableFrom(collectionType)) {
-                List<Object> list = new ArrayList<>();
-                
-                // Même logique que pour les tableaux
-                Enumeration<String> paramNames = request.getParameterNames();
-                while (paramNames.hasMoreElements()) {
-                    String paramName = paramNames.nextElement();
-                    
-                    // Pour simplifier, on suppose que le type élément est String
-                    // Dans une version avancée, on pourrait déterminer le type générique
-                    if (paramName.equals(collectionType.getSimpleName().toLowerCase())) {
-                        String[] paramValues = request.getParameterValues(paramName);
-                        if (paramValues != null) {
-                            Collections.addAll(list, paramValues);
-                        }
-                    }
-                }
-                
-                // Ajouter depuis multipart
-                if (multipartData != null) {
-                    Map<String, String[]> multipartParams = 
-                        (Map<String, String[]>) multipartData.get("parameters");
-                    
-                    if (multipartParams != null) {
-                        for (Map.Entry<String, String[]> entry : multipartParams.entrySet()) {
-                            String paramName = entry.getKey();
-                            if (paramName.equals(collectionType.getSimpleName().toLowerCase())) {
-                                String[] paramValues = entry.getValue();
-                                if (paramValues != null) {
-                                    Collections.addAll(list, paramValues);
-                                }
-                            }
-                        }
-                    }
-                }
-                
-                return list;
-            }
-        } catch (Exception e) {
-            System.err.println("[FrontServlet] Erreur lors du binding de la collection");
-            e.printStackTrace();
-        }
-        
-        // Retourner une collection vide par défaut
-        if (List.class.isAssignableFrom(collectionType)) {
-            return new ArrayList<>();
-        }
-        return null;
-    }
-    
-    /**
-     * SPRINT 8 BIS : Met en majuscule la première lettre
-     */
-    private String capitalize(String str) {
-        if (str == null || str.isEmpty()) {
-            return str;
         }
-        return str.substring(0, 1).toUpperCase() + str.substring(1);
+        return new RateLimiter(requests, getIntParameter("rateLimitPeriod", 1), getIntParameter("rateLimitBurst", 0),
+                               key, header, getIntParameter("rateLimitMaxClients", RateLimiter.DEFAULT_MAX_CLIENTS));
     }
-    
+
     /**
-     * SPRINT 8 BIS : Trouve une méthode par son nom
+     * Publication des limites de débit : attribut de contexte "etu.sprint.framework.RateLimiter"
+     * (Map "GET /pattern" → limite, "*" pour la limite globale)
      */
-    private Method findMethod(Class<?> clazz, String methodName) {
-        for (Method method : clazz.getDeclaredMethods()) {
-            if (method.getName().equals(methodName)) {
-                return method;
-            }
+    private void publishRateLimits() {
+        Map<String, RateLimiter> limiters = new LinkedHashMap<>();
+        if (globalRateLimiter != null) {
+            limiters.put("*", globalRateLimiter);
         }
-        
-        // Chercher dans les méthodes héritées
-        Class<?> superClass = clazz.getSuperclass();
-        if (superClass != null && superClass != Object.class) {
-            Method inheritedMethod = findMethod(superClass, methodName);
-            if (inheritedMethod != null) {
-                return inheritedMethod;
+        for (RouteMapping rm : mappings) {
+            if (rm.getRateLimiter() != null) {
+                limiters.put(rm.getHttpMethod() + " " + rm.getPattern(), rm.getRateLimiter());
             }
         }
-        
-        return null;
-    }
-    
-    /**
-     * SPRINT 8 BIS : Trouve une méthode par son nom et ses paramètres
-     */
-    private Method findMethod(Class<?> clazz, String methodName, Class<?>... paramTypes) {
-        try {
-            return clazz.getMethod(methodName, paramTypes);
-        } catch (NoSuchMethodException e) {
-            return findMethod(clazz, methodName);
+        if (!limiters.isEmpty()) {
+            getServletContext().setAttribute(RateLimiter.class.getName(), Collections.unmodifiableMap(limiters));
         }
     }
-    
+
     /**
-     * Crée une Map avec tous les paramètres et attributs de la requête
+     * Limite par défaut (paramètres concurrencyLimit, concurrencyLimitAdaptive, concurrencyLimitMax)
+     * pour les routes sans @ConcurrencyLimit, puis publication des limites :
+     * attribut de contexte "etu.sprint.framework.ConcurrencyLimiter" (Map "GET /pattern" → limite)
      */
-    private Map<String, Object> createRequestMap(HttpServletRequest request) {
-        Map<String, Object> requestMap = new HashMap<>();
-        
-        // 1. Ajouter tous les paramètres de la requête (GET/POST)
-        Enumeration<String> paramNames = request.getParameterNames();
-        while (paramNames.hasMoreElements()) {
-            String paramName = paramNames.nextElement();
-            String[] values = request.getParameterValues(paramName);
-            
-            // Si un seul paramètre, stocker directement, sinon tableau
-            if (values != null && values.length == 1) {
-                // Essayer de convertir les types de base
-                String value = values[0];
-                requestMap.put(paramName, convertParameterValue(value));
-            } else {
-                requestMap.put(paramName, values);
+    private void applyConcurrencyLimits() {
+        int defaultLimit = getIntParameter("concurrencyLimit", 0);
+        boolean adaptive = "true".equalsIgnoreCase(getConfigParameter("concurrencyLimitAdaptive"));
+        int maxLimit = getIntParameter("concurrencyLimitMax", 1000);
+
+        Map<String, ConcurrencyLimiter> limiters = new LinkedHashMap<>();
+        for (RouteMapping rm : mappings) {
+            if (rm.getConcurrencyLimiter() == null && defaultLimit > 0) {
+                rm.setConcurrencyLimiter(new ConcurrencyLimiter(defaultLimit, adaptive, 1, maxLimit));
+            }
+            if (rm.getConcurrencyLimiter() != null) {
+                limiters.put(rm.getHttpMethod() + " " + rm.getPattern(), rm.getConcurrencyLimiter());
             }
         }
-        
-        // 2. Ajouter tous les attributs de la requête
-        Enumeration<String> attrNames = request.getAttributeNames();
-        while (attrNames.hasMoreElements()) {
-            String attrName = attrNames.nextElement();
-            requestMap.put(attrName, request.getAttribute(attrName));
+        if (!limiters.isEmpty()) {
+            getServletContext().setAttribute(ConcurrencyLimiter.class.getName(),
+                                             Collections.unmodifiableMap(limiters));
         }
-        
-        // 3. Ajouter les informations de la requête
-        requestMap.put("request", request);
-        requestMap.put("session", request.getSession(false));
-        requestMap.put("contextPath", request.getContextPath());
-        
-        return requestMap;
     }
-    
+
     /**
-     * Convertit une valeur de paramètre String en type approprié
+     * Construit la table des routes, en phases chronométrées :
+     * 1. découverte des classes (index ou scan bytecode)
+     * 2. instanciation des contrôleurs + métadonnées des routes, en parallèle (fork-join)
+     * 3. tri + construction de l'index
      */
-    private Object convertParameterValue(String value) {
-        if (value == null || value.isEmpty()) {
-            return value;
-        }
-        
-        // Essayer Integer
-        if (value.matches("-?\\d+")) {
-            try {
-                return Integer.parseInt(value);
-            } catch (NumberFormatException e) {
-                // Continuer avec d'autres types
-            }
+    private void scanControllers() throws Exception {
+        int parallelism = Math.max(1, getIntParameter("initParallelism", 
+                                                      Runtime.getRuntime().availableProcessors()));
+
+        long t0 = System.nanoTime();
+        long t1;
+
+        // Snapshot de la table des routes (redémarrage sans scan si rien n'a changé)
+        File snapshotFile = getSnapshotFile();
+        long fingerprint = 0;
+        List<RouteMapping> restored = null;
+        if (snapshotFile != null) {
+            fingerprint = RouteSnapshot.fingerprint(snapshotFile.getParentFile());
+            restored = RouteSnapshot.read(snapshotFile, fingerprint, getClass().getClassLoader());
         }
-        
-        // Essayer Double
-        if (value.matches("-?\\d+(\\.\\d+)?")) {
+
+        int classCount;
+        List<RouteMapping> tempMappings;
+        if (restored != null) {
+            tempMappings = restored;
+            classCount = (int) restored.stream().map(RouteMapping::getController).distinct().count();
+            t1 = System.nanoTime();
+            System.out.println("[FrontServlet] Routes restaurées depuis " + snapshotFile.getName());
+        } else {
+            // Les threads du pool gardent le class loader de l'application web
+            ClassLoader webappLoader = Thread.currentThread().getContextClassLoader();
+            ForkJoinPool pool = new ForkJoinPool(parallelism, p -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                thread.setContextClassLoader(webappLoader);
+                thread.setName("sprint-init-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+
             try {
-                return Double.parseDouble(value);
-            } catch (NumberFormatException e) {
-                // Continuer avec d'autres types
+                // Le scan bytecode (parallelStream) s'exécute aussi dans ce pool
+                List<Class<?>> classes = pool.submit(this::findControllerClasses).get();
+                classCount = classes.size();
+                t1 = System.nanoTime();
+
+                tempMappings = pool.submit(() -> classes.parallelStream()
+                        .flatMap(cls -> buildControllerRoutes(cls).stream())
+                        .collect(Collectors.toList())).get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            } finally {
+                pool.shutdown();
             }
         }
-        
-        // Essayer Boolean
-        if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
-            return Boolean.parseBoolean(value);
+
+        // Plans de binding compilés une fois par route
+        for (RouteMapping rm : tempMappings) {
+            rm.setResolvers(compileBindingPlan(rm.getParameters(), 
+                                               rm.getMethod().getGenericParameterTypes()));
         }
-        
-        // Par défaut, retourner String
-        return value;
-    }
-    
-    /**
-     * Retourne la valeur par défaut pour un type donné
-     */
-    private Object getDefaultValue(Class<?> type) {
-        if (type.isPrimitive()) {
-            if (type == int.class) return 0;
-            else if (type == double.class) return 0.0;
-            else if (type == boolean.class) return false;
-            else if (type == long.class) return 0L;
-            else if (type == float.class) return 0.0f;
-            else if (type == short.class) return (short)0;
-            else if (type == byte.class) return (byte)0;
-            else if (type == char.class) return '\0';
-        }
-        return null;
-    }
+        long t2 = System.nanoTime();
 
-    private String convertPathToRegex(String path) {
-        return path.replaceAll("\\{[^/]+}", "([^/]+)");
-    }
+        // TRIER LES ROUTES par spécificité
+        tempMappings.sort((r1, r2) -> {
+            PathPattern p1 = r1.getPathPattern();
+            PathPattern p2 = r2.getPathPattern();
+            
+            int count1 = p1.getVariableCount();
+            int count2 = p2.getVariableCount();
+            
+            if (count1 != count2) {
+                return Integer.compare(count1, count2);
+            }
+            
+            // À nombre égal, les segments typés ({id:int}) passent avant {name}
+            if (p1.getConstrainedCount() != p2.getConstrainedCount()) {
+                return Integer.compare(p2.getConstrainedCount(), p1.getConstrainedCount());
+            }
+            
+            return Integer.compare(r2.getPattern().length(), r1.getPattern().length());
+        });
 
-    private void scanControllers() {
-        try {
-            String classesPath = getServletContext().getRealPath("/WEB-INF/classes");
-            List<Class<?>> classes = getAllClasses(classesPath, "");
+        mappings.addAll(tempMappings);
+        routeIndex = new RouteIndex(mappings);
 
-            List<RouteMapping> tempMappings = new ArrayList<>();
+        int cacheSize = getIntParameter("routeCacheSize", 1024);
+        if (cacheSize > 0) {
+            routeCache = new RouteCache(cacheSize);
+            getServletContext().setAttribute(RouteCache.class.getName(), routeCache);
+        }
 
-            for (Class<?> cls : classes) {
-                if (!cls.isAnnotationPresent(Controller.class)) {
-                    continue;
-                }
+        if (virtualThreads == null && mappings.stream().anyMatch(RouteMapping::isVirtualThread)) {
+            virtualThreads = VirtualThreadDispatcher.create(
+                    getIntParameter("virtualThreadMaxInFlight", 10000),
+                    !"false".equalsIgnoreCase(getConfigParameter("virtualThreadPinnedMetrics")));
+            if (virtualThreads != null) {
+                getServletContext().setAttribute(VirtualThreadDispatcher.class.getName(), virtualThreads);
+            } else {
+                System.err.println("[FrontServlet] @VirtualThreads ignoré : threads virtuels indisponibles (JDK 21+ requis)");
+            }
+        }
+        long t3 = System.nanoTime();
 
-                Object instance = cls.getDeclaredConstructor().newInstance();
+        System.out.println("[FrontServlet] Routes prêtes: " + mappings.size() + " route(s), " + 
+                         classCount + " classe(s), parallélisme " + parallelism + 
+                         " | découverte " + millis(t1 - t0) + " ms" + 
+                         ", contrôleurs " + millis(t2 - t1) + " ms" + 
+                         ", index " + millis(t3 - t2) + " ms" + 
+                         ", total " + millis(t3 - t0) + " ms");
 
-                for (Method method : cls.getDeclaredMethods()) {
+        if (snapshotFile != null && restored == null) {
+            try {
+                RouteSnapshot.write(snapshotFile, fingerprint, mappings);
+            } catch (IOException e) {
+                System.err.println("[FrontServlet] Écriture du snapshot impossible: " + e.getMessage());
+            }
+        }
 
-                    if (method.isAnnotationPresent(MyUrl.class)) {
-                        String pattern = method.getAnnotation(MyUrl.class).value();
-                        
-                        String httpMethod = "GET";
-                        if (method.isAnnotationPresent(HttpMethod.class)) {
-                            httpMethod = method.getAnnotation(HttpMethod.class).value();
-                        }
-                        
-                        tempMappings.add(new RouteMapping(pattern, method, instance, httpMethod));
-                    }
+        applyConcurrencyLimits();
+        publishRateLimits();
+
+        System.out.println("\n========== ROUTES ENREGISTRÉES (SPRINT 10 - Upload Fichier) ==========");
+        for (RouteMapping rm : mappings) {
+            System.out.println("[Route] " + rm.getHttpMethod() + " " + rm.getPattern() + 
+                             " -> " + rm.getMethod().getDeclaringClass().getSimpleName() + 
+                             "." + rm.getMethod().getName());
+            
+            // Indiquer si c'est une API JSON
+            if (rm.isJson()) {
+                System.out.println("       [API REST] Statut: " + rm.getJsonStatus() + 
+                                 ", Content-Type: " + rm.getJsonContentType() +
+                                 (rm.getJsonDateFormat().isEmpty() ? "" : ", Dates: " + rm.getJsonDateFormat()));
+            }
+            if (rm.isVirtualThread()) {
+                System.out.println("       [Thread virtuel]");
+            }
+            if (rm.getConcurrencyLimiter() != null) {
+                System.out.println("       [Limite] " + rm.getConcurrencyLimiter());
+            }
+            if (rm.getPriority() != Priority.Level.NORMAL) {
+                System.out.println("       [Priorité] " + rm.getPriority());
+            }
+            if (rm.getRateLimiter() != null) {
+                System.out.println("       [Débit] " + rm.getRateLimiter());
+            }
+            
+            // Afficher les paramètres de la méthode
+            ParameterSpec[] params = rm.getParameters();
+            if (params.length > 0) {
+                System.out.print("       Paramètres: ");
+                for (ParameterSpec p : params) {
+                    System.out.print(p + ", ");
                 }
+                System.out.println();
             }
+        }
+        System.out.println("=============================================================\n");
+    }
 
-            // TRIER LES ROUTES par spécificité
-            tempMappings.sort((r1, r2) -> {
-                String p1 = r1.getPattern();
-                String p2 = r2.getPattern();
-                
-                int count1 = countDynamicParams(p1);
-                int count2 = countDynamicParams(p2);
-                
-                if (count1 != count2) {
-                    return Integer.compare(count1, count2);
-                }
-                
-                return Integer.compare(p2.length(), p1.length());
-            });
+    /**
+     * Instancie un contrôleur et crée ses routes (appelé en parallèle)
+     */
+    private List<RouteMapping> buildControllerRoutes(Class<?> cls) {
+        List<RouteMapping> routes = new ArrayList<>();
+        if (!cls.isAnnotationPresent(Controller.class)) {
+            return routes;
+        }
+
+        Object instance;
+        try {
+            instance = cls.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Impossible d'instancier le contrôleur " + cls.getName(), e);
+        }
 
-            mappings.addAll(tempMappings);
+        for (Method method : cls.getDeclaredMethods()) {
 
-            System.out.println("\n========== ROUTES ENREGISTRÉES (SPRINT 10 - Upload Fichier) ==========");
-            for (RouteMapping rm : mappings) {
-                System.out.println("[Route] " + rm.getHttpMethod() + " " + rm.getPattern() + 
-                                 " -> " + rm.getMethod().getDeclaringClass().getSimpleName() + 
-                                 "." + rm.getMethod().getName());
+            if (method.isAnnotationPresent(MyUrl.class)) {
+                String pattern = method.getAnnotation(MyUrl.class).value();
                 
-                // Indiquer si c'est une API JSON
-                if (rm.getMethod().isAnnotationPresent(JSON.class)) {
-                    JSON json = rm.getMethod().getAnnotation(JSON.class);
-                    System.out.println("       [API REST] Statut: " + json.status() + 
-                                     ", Content-Type: " + json.contentType());
+                String httpMethod = "GET";
+                if (method.isAnnotationPresent(HttpMethod.class)) {
+                    httpMethod = method.getAnnotation(HttpMethod.class).value();
                 }
                 
-                // Afficher les paramètres de la méthode
-                Parameter[] params = rm.getMethod().getParameters();
-                if (params.length > 0) {
-                    System.out.print("       Paramètres: ");
-                    for (Parameter p : params) {
-                        String type = p.getType().getSimpleName();
-                        
-                        // SPRINT 10: Afficher @FileParam
-                        if (p.isAnnotationPresent(FileParam.class)) {
-                            String name = p.getAnnotation(FileParam.class).value();
-                            System.out.print("@FileParam(\"" + name + "\") " + type + ", ");
-                        }
-                        else if (p.isAnnotationPresent(ModelAttribute.class)) {
-                            String name = p.getAnnotation(ModelAttribute.class).value();
-                            if (!name.isEmpty()) {
-                                System.out.print("@ModelAttribute(\"" + name + "\") " + type + ", ");
-                            } else {
-                                System.out.print("@ModelAttribute " + type + ", ");
-                            }
-                        } else if (p.isAnnotationPresent(RequestParam.class)) {
-                            String name = p.getAnnotation(RequestParam.class).value();
-                            System.out.print("@RequestParam(\"" + name + "\") " + type + ", ");
-                        } else if (Map.class.isAssignableFrom(p.getType())) {
-                            System.out.print("Map<String, Object>, ");
-                        } else {
-                            System.out.print(type + ", ");
-                        }
-                    }
-                    System.out.println();
-                }
+                routes.add(new RouteMapping(pattern, method, instance, httpMethod));
             }
-            System.out.println("=============================================================\n");
+        }
+        return routes;
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    /**
+     * Fichier du snapshot des routes (null si désactivé via routeSnapshot=false
+     * ou si l'application n'est pas décompressée sur disque)
+     */
+    private File getSnapshotFile() {
+        if ("false".equalsIgnoreCase(getConfigParameter("routeSnapshot"))) {
+            return null;
         }
+        String webInf = getServletContext().getRealPath("/WEB-INF");
+        return webInf != null ? new File(webInf, "sprint-routes.snapshot") : null;
     }
 
-    private int countDynamicParams(String pattern) {
-        int count = 0;
-        for (int i = 0; i < pattern.length(); i++) {
-            if (pattern.charAt(i) == '{') {
-                count++;
-            }
+    /**
+     * Lit un paramètre de configuration : init-param du servlet, sinon context-param
+     */
+    private String getConfigParameter(String name) {
+        String value = getInitParameter(name);
+        if (value == null) {
+            value = getServletContext().getInitParameter(name);
+        }
+        return value;
+    }
+
+    private int getIntParameter(String name, int defaultValue) {
+        String value = getConfigParameter(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("[FrontServlet] Paramètre " + name + " invalide: " + value);
+            return defaultValue;
         }
-        return count;
     }
 
-    private List<Class<?>> getAllClasses(String basePath, String pkg) throws Exception {
+    /**
+     * Choisit la source des classes selon l'init-param routeIndexMode :
+     * - "auto" (défaut) : index généré par RouteIndexProcessor s'il existe, sinon parcours
+     * - "index"         : index uniquement
+     * - "scan"          : parcours de /WEB-INF/classes uniquement
+     */
+    private List<Class<?>> findControllerClasses() throws Exception {
+        String mode = getConfigParameter("routeIndexMode");
+        if (mode == null) {
+            mode = "auto";
+        }
 
-        List<Class<?>> classes = new ArrayList<>();
-        File dir = new File(basePath);
+        if (!"scan".equalsIgnoreCase(mode)) {
+            List<Class<?>> indexed = loadIndexedClasses();
+            if (indexed != null) {
+                return indexed;
+            }
+            if ("index".equalsIgnoreCase(mode)) {
+                System.err.println("[FrontServlet] routeIndexMode=index mais aucun " + 
+                                 RouteIndexProcessor.INDEX_RESOURCE + " trouvé");
+                return new ArrayList<>();
+            }
+        }
 
-        for (File file : Objects.requireNonNull(dir.listFiles())) {
+        return scanClassFiles();
+    }
 
-            if (file.isDirectory()) {
-                String subPkg = pkg.isEmpty() ? file.getName() : pkg + "." + file.getName();
-                classes.addAll(getAllClasses(file.getAbsolutePath(), subPkg));
+    /**
+     * Charge uniquement les classes listées dans les index META-INF/sprint-routes.idx
+     * (WEB-INF/classes et jars de WEB-INF/lib)
+     *
+     * @return les classes indexées, ou null si aucun index n'est présent
+     */
+    private List<Class<?>> loadIndexedClasses() throws IOException {
+        ClassLoader loader = getClass().getClassLoader();
+        Enumeration<java.net.URL> resources = loader.getResources(RouteIndexProcessor.INDEX_RESOURCE);
+        if (!resources.hasMoreElements()) {
+            return null;
+        }
+
+        Set<String> classNames = new LinkedHashSet<>();
+        while (resources.hasMoreElements()) {
+            java.net.URL url = resources.nextElement();
+            try (InputStream in = url.openStream()) {
+                classNames.addAll(RouteIndexProcessor.readIndex(in).keySet());
+            }
+        }
+
+        List<Class<?>> classes = new ArrayList<>();
+        for (String className : classNames) {
+            try {
+                classes.add(Class.forName(className));
+            } catch (ClassNotFoundException | LinkageError e) {
+                // Entrée obsolète (classe supprimée depuis la compilation)
+                System.err.println("[FrontServlet] Classe indexée introuvable: " + className);
             }
-            else if (file.getName().endsWith(".class")) {
-                String className = pkg + "." + file.getName().replace(".class", "");
+        }
 
-                if (pkg.isEmpty()) continue;
+        System.out.println("[FrontServlet] Index des routes: " + classes.size() + 
+                         " contrôleur(s) chargé(s) depuis " + RouteIndexProcessor.INDEX_RESOURCE);
+        return classes;
+    }
 
-                try {
-                    classes.add(Class.forName(className));
-                } catch (Exception ignored) {}
+    /**
+     * Parcours sans index : lit le bytecode de WEB-INF/classes et WEB-INF/lib
+     * et ne charge que les classes annotées @Controller
+     */
+    private List<Class<?>> scanClassFiles() {
+        long start = System.currentTimeMillis();
+        ClassFileScanner scanner = new ClassFileScanner(Controller.class);
+        List<String> classNames = scanner.scan(getServletContext());
+
+        List<Class<?>> classes = new ArrayList<>();
+        for (String className : classNames) {
+            try {
+                classes.add(Class.forName(className));
+            } catch (ClassNotFoundException | LinkageError e) {
+                System.err.println("[FrontServlet] Chargement impossible: " + className + " (" + e + ")");
             }
         }
+
+        System.out.println("[FrontServlet] Scan bytecode: " + scanner.getClassFilesRead() + 
+                         " fichiers .class, " + scanner.getJarsRead() + " jar(s), " + 
+                         classes.size() + " contrôleur(s) en " + 
+                         (System.currentTimeMillis() - start) + " ms");
         return classes;
     }
     
     @Override
     public void destroy() {
+        if (loadShedder != null) {
+            System.out.println("[FrontServlet] " + loadShedder);
+        }
+        if (globalRateLimiter != null) {
+            System.out.println("[FrontServlet] " + globalRateLimiter);
+        }
+        for (RouteMapping rm : mappings) {
+            if (rm.getConcurrencyLimiter() != null && rm.getConcurrencyLimiter().getRejectedCount() > 0) {
+                System.out.println("[FrontServlet] " + rm.getHttpMethod() + " " + rm.getPattern() + 
+                                 " " + rm.getConcurrencyLimiter());
+            }
+        }
+        if (virtualThreads != null) {
+            System.out.println("[FrontServlet] " + virtualThreads);
+            virtualThreads.shutdown();
+        }
+        if (routeCache != null) {
+            System.out.println("[FrontServlet] " + routeCache);
+        }
+
         // Nettoyer le répertoire temporaire
         try {
             File tempDir = new File(uploadTempDir);
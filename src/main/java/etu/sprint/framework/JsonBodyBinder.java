@@ -0,0 +1,698 @@
+package etu.sprint.framework;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Binding d'un paramètre @RequestBody, préparé à l'enregistrement de la route
+ *
+ * Le type cible (classe, éléments de List / tableau, valeurs de Map, propriétés
+ * des objets imbriqués) est résolu une seule fois en un arbre de Target ;
+ * chaque classe d'objet a un plan (ClassValue) : propriétés inscriptibles
+ * du BeanBinder, indexées par leur nom encodé en UTF-8 pour JsonReader.readKey().
+ * Le corps est lu en flux (JsonReader) et écrit directement dans les objets.
+ *
+ * Conversions :
+ *   nombre → int / long / double / BigDecimal... (hors bornes : erreur), String
+ *   chaîne → convertisseur du type (ConverterRegistry, @DateFormat des propriétés)
+ *   Object / Map<String, Object> → Map, List, String, Integer / Long / Double, Boolean
+ * Une valeur non convertible est ignorée et signalée dans BindingErrors
+ * (nom de la forme "lignes[2].prix"), comme pour @ModelAttribute.
+ */
+public final class JsonBodyBinder {
+
+    // Genres de Target
+    private static final int ANY = 0;
+    private static final int STRING = 1;
+    private static final int BOOLEAN = 2;
+    private static final int INT = 3;
+    private static final int LONG = 4;
+    private static final int SHORT = 5;
+    private static final int BYTE = 6;
+    private static final int DOUBLE = 7;
+    private static final int FLOAT = 8;
+    private static final int CHAR = 9;
+    private static final int BIG_DECIMAL = 10;
+    private static final int BIG_INTEGER = 11;
+    private static final int CONVERTED = 12;
+    private static final int COLLECTION = 13;
+    private static final int ARRAY = 14;
+    private static final int MAP = 15;
+    private static final int BEAN = 16;
+
+    private static final Object INVALID = TypeConverter.INVALID;
+
+    private static final ClassValue<BeanPlan> PLANS = new ClassValue<BeanPlan>() {
+        @Override
+        protected BeanPlan computeValue(Class<?> type) {
+            return new BeanPlan(type);
+        }
+    };
+
+    private final Target root;
+    private final long maxBytes;
+    private final int maxDepth;
+
+    private JsonBodyBinder(Target root, long maxBytes, int maxDepth) {
+        this.root = root;
+        this.maxBytes = maxBytes;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @param type type du paramètre
+     * @param genericType type générique du paramètre (Method.getGenericParameterTypes())
+     * @param maxBytes taille maximale du corps (413 au-delà)
+     * @param maxDepth imbrication maximale (400 au-delà)
+     */
+    public static JsonBodyBinder of(Class<?> type, Type genericType, long maxBytes, int maxDepth) {
+        Target root = Target.of(genericType != null ? genericType : type, null);
+        // Plans des classes atteignables calculés dès l'enregistrement
+        prepare(root, new HashSet<>());
+        return new JsonBodyBinder(root, maxBytes, maxDepth);
+    }
+
+    private static void prepare(Target target, Set<Class<?>> visited) {
+        if (target == null) {
+            return;
+        }
+        if (target.kind == BEAN) {
+            if (visited.add(target.type)) {
+                for (Slot slot : PLANS.get(target.type).slots) {
+                    prepare(slot.target, visited);
+                }
+            }
+        } else {
+            prepare(target.element, visited);
+        }
+    }
+
+    /**
+     * Lit le corps de la requête
+     *
+     * @throws RequestBodyException corps invalide, trop gros ou trop profond, Content-Type non JSON
+     */
+    public Object bind(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType != null && !contentType.toLowerCase().contains("json")) {
+            throw new RequestBodyException(415, "Content-Type JSON attendu (reçu: " + contentType + ")");
+        }
+        long length = request.getContentLengthLong();
+        if (length > maxBytes) {
+            throw new RequestBodyException(413, "Corps JSON trop volumineux (max " + maxBytes + " octets)");
+        }
+        if (length == 0) {
+            return root.emptyValue;
+        }
+
+        try (JsonReader reader = JsonReader.open(request.getInputStream(), maxBytes, maxDepth)) {
+            if (reader.peek() < 0) {
+                return root.emptyValue;
+            }
+            Object value = read(reader, root, new Context(request));
+            reader.end();
+            return value == INVALID || value == null ? root.emptyValue : value;
+        } catch (IOException e) {
+            throw new RequestBodyException(400, "Lecture du corps impossible: " + e.getMessage());
+        }
+    }
+
+    // ========== LECTURE ==========
+
+    private static Object read(JsonReader reader, Target target, Context context) throws IOException {
+        int c = reader.peek();
+        switch (c) {
+            case '{':
+                if (target.kind == BEAN) {
+                    return readBean(reader, target, context);
+                }
+                if (target.kind == MAP || target.kind == ANY) {
+                    return readMap(reader, target, context);
+                }
+                break;
+            case '[':
+                if (target.kind == COLLECTION || target.kind == ANY) {
+                    return readCollection(reader, target, context);
+                }
+                if (target.kind == ARRAY) {
+                    return readArray(reader, target, context);
+                }
+                break;
+            case '"':
+                return fromText(reader.readString(), target, context);
+            case 't':
+            case 'f': {
+                boolean value = reader.readBoolean();
+                if (target.kind == BOOLEAN || target.kind == ANY) {
+                    return value;
+                }
+                if (target.kind == STRING) {
+                    return String.valueOf(value);
+                }
+                return context.reject(String.valueOf(value), target);
+            }
+            case 'n':
+                reader.readNull();
+                return null;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return fromNumber(reader, target, context);
+                }
+                throw reader.syntax("valeur attendue");
+        }
+        // Objet ou tableau à la place d'une valeur simple : ignoré
+        context.reject(c == '{' ? "{...}" : "[...]", target);
+        reader.skipValue();
+        return INVALID;
+    }
+
+    private static Object readBean(JsonReader reader, Target target, Context context) throws IOException {
+        BeanPlan plan = PLANS.get(target.type);
+        Object bean;
+        try {
+            bean = plan.binder.newInstance();
+        } catch (Exception e) {
+            // Pas de constructeur sans argument (interface, classe abstraite...)
+            context.reject("{...}", target);
+            reader.skipValue();
+            return INVALID;
+        }
+
+        reader.begin('{');
+        for (boolean first = true; reader.hasNext('}', first); first = false) {
+            Slot slot = reader.readKey(plan.names);
+            reader.expect(':');
+            if (slot == null) {
+                reader.skipValue();
+                continue;
+            }
+            context.push(slot.name);
+            Object value = read(reader, slot.target, context);
+            if (value != INVALID && (value != null || !slot.target.type.isPrimitive())) {
+                try {
+                    slot.property.write(bean, value);
+                } catch (ClassCastException e) {
+                    context.reject(String.valueOf(value), slot.target);
+                }
+            }
+            context.pop();
+        }
+        return bean;
+    }
+
+    private static Object readMap(JsonReader reader, Target target, Context context) throws IOException {
+        @SuppressWarnings("unchecked")
+        Map<Object, Object> map = target.kind == ANY ? new LinkedHashMap<>()
+                                                     : (Map<Object, Object>) target.newContainer();
+        Target values = target.element != null ? target.element : Target.OBJECT;
+
+        reader.begin('{');
+        for (boolean first = true; reader.hasNext('}', first); first = false) {
+            String name = reader.readString();
+            reader.expect(':');
+            context.push(name);
+            Object key = target.key != null ? fromText(name, target.key, context) : name;
+            Object value = read(reader, values, context);
+            if (key != INVALID && value != INVALID) {
+                map.put(key, value);
+            }
+            context.pop();
+        }
+        return map;
+    }
+
+    private static Object readCollection(JsonReader reader, Target target, Context context) throws IOException {
+        @SuppressWarnings("unchecked")
+        Collection<Object> collection = target.kind == ANY ? new ArrayList<>()
+                                                           : (Collection<Object>) target.newContainer();
+        Target elements = target.element != null ? target.element : Target.OBJECT;
+
+        reader.begin('[');
+        int index = 0;
+        for (boolean first = true; reader.hasNext(']', first); first = false) {
+            context.push(index++);
+            Object value = read(reader, elements, context);
+            if (value != INVALID) {
+                collection.add(value);
+            }
+            context.pop();
+        }
+        return collection;
+    }
+
+    /**
+     * Tableau ; int[] / long[] / double[] remplis sans boxing quand les éléments sont des nombres
+     */
+    private static Object readArray(JsonReader reader, Target target, Context context) throws IOException {
+        Target elements = target.element;
+        Class<?> type = elements.type;
+        if (type == int.class || type == long.class || type == double.class) {
+            return readNumberArray(reader, elements, context);
+        }
+
+        List<Object> values = new ArrayList<>();
+        reader.begin('[');
+        int index = 0;
+        for (boolean first = true; reader.hasNext(']', first); first = false) {
+            context.push(index++);
+            Object value = read(reader, elements, context);
+            if (value != INVALID) {
+                values.add(value != null || !type.isPrimitive() ? value : elements.emptyValue);
+            }
+            context.pop();
+        }
+        Object array = Array.newInstance(type, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            Array.set(array, i, values.get(i));
+        }
+        return array;
+    }
+
+    private static Object readNumberArray(JsonReader reader, Target elements, Context context) throws IOException {
+        boolean decimal = elements.type == double.class;
+        long[] longs = decimal ? null : new long[16];
+        double[] doubles = decimal ? new double[16] : null;
+        int count = 0;
+
+        reader.begin('[');
+        int index = 0;
+        for (boolean first = true; reader.hasNext(']', first); first = false) {
+            context.push(index++);
+            int c = reader.peek();
+            long longValue = 0;
+            double doubleValue = 0;
+            Object value;
+            if ((c == '-' || (c >= '0' && c <= '9')) && reader.readNumber() == JsonReader.INTEGRAL) {
+                longValue = reader.longValue();
+                doubleValue = longValue;
+                value = elements.kind != INT || (longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE)
+                        ? null : context.reject(Long.toString(longValue), elements);
+            } else {
+                // Décimal (déjà lu), chaîne "42", null...
+                value = c == '-' || (c >= '0' && c <= '9') ? decimal(reader, elements, context)
+                                                           : read(reader, elements, context);
+                if (value instanceof Number) {
+                    longValue = ((Number) value).longValue();
+                    doubleValue = ((Number) value).doubleValue();
+                }
+            }
+            context.pop();
+            if (value == INVALID) {
+                continue;
+            }
+            if (decimal) {
+                if (count == doubles.length) {
+                    doubles = Arrays.copyOf(doubles, count * 2);
+                }
+                doubles[count++] = doubleValue;
+            } else {
+                if (count == longs.length) {
+                    longs = Arrays.copyOf(longs, count * 2);
+                }
+                longs[count++] = longValue;
+            }
+        }
+
+        if (decimal) {
+            return Arrays.copyOf(doubles, count);
+        }
+        if (elements.kind == LONG) {
+            return Arrays.copyOf(longs, count);
+        }
+        int[] ints = new int[count];
+        for (int i = 0; i < count; i++) {
+            ints[i] = (int) longs[i];
+        }
+        return ints;
+    }
+
+    // ========== CONVERSIONS ==========
+
+    private static Object fromText(String text, Target target, Context context) {
+        switch (target.kind) {
+            case STRING:
+            case ANY:
+                return text;
+            case CHAR:
+                return text.length() == 1 ? (Object) text.charAt(0) : context.reject(text, target);
+            case COLLECTION:
+            case ARRAY:
+            case MAP:
+            case BEAN:
+                return context.reject(text, target);
+            default:
+                Object converted = BeanBinder.convert(target.converter, target.emptyValue, text);
+                return converted != INVALID ? converted : context.reject(text, target);
+        }
+    }
+
+    private static Object fromNumber(JsonReader reader, Target target, Context context) throws IOException {
+        if (reader.readNumber() != JsonReader.INTEGRAL) {
+            return decimal(reader, target, context);
+        }
+        long value = reader.longValue();
+        switch (target.kind) {
+            case INT:
+                return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE
+                       ? (Object) (int) value : context.reject(Long.toString(value), target);
+            case LONG:
+                return value;
+            case SHORT:
+                return value >= Short.MIN_VALUE && value <= Short.MAX_VALUE
+                       ? (Object) (short) value : context.reject(Long.toString(value), target);
+            case BYTE:
+                return value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE
+                       ? (Object) (byte) value : context.reject(Long.toString(value), target);
+            case DOUBLE:
+                return (double) value;
+            case FLOAT:
+                return (float) value;
+            case BIG_DECIMAL:
+                return BigDecimal.valueOf(value);
+            case BIG_INTEGER:
+                return BigInteger.valueOf(value);
+            case ANY:
+                return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? (Object) (int) value : value;
+            default:
+                return fromText(Long.toString(value), target, context);
+        }
+    }
+
+    /**
+     * Nombre déjà lu par readNumber() avec le résultat DECIMAL
+     */
+    private static Object decimal(JsonReader reader, Target target, Context context) {
+        String text = reader.numberText();
+        try {
+            switch (target.kind) {
+                case DOUBLE:
+                    return Double.parseDouble(text);
+                case FLOAT:
+                    return Float.parseFloat(text);
+                case BIG_DECIMAL:
+                    return new BigDecimal(text);
+                case BIG_INTEGER:
+                    return reader.isIntegerText() ? new BigInteger(text) : context.reject(text, target);
+                case ANY:
+                    return reader.isIntegerText() ? new BigInteger(text) : (Object) Double.parseDouble(text);
+                case INT:
+                case LONG:
+                case SHORT:
+                case BYTE:
+                    // Décimal ou hors des bornes d'un long
+                    return context.reject(text, target);
+                default:
+                    return fromText(text, target, context);
+            }
+        } catch (NumberFormatException e) {
+            // Exposant hors limites pour BigDecimal
+            return context.reject(text, target);
+        }
+    }
+
+    // ========== PLANS ==========
+
+    /**
+     * Type cible d'une valeur JSON, résolu à l'enregistrement
+     */
+    private static final class Target {
+
+        static final Target OBJECT = new Target(ANY, Object.class, null, null, null, null);
+
+        final int kind;
+        final Class<?> type;
+        // Éléments (collection, tableau) ou valeurs (Map)
+        final Target element;
+        // Clés d'une Map<K, V> si K n'est ni String ni Object
+        final Target key;
+        final TypeConverter converter;
+        final Object emptyValue;
+        // Constructeur du conteneur (collection, Map)
+        final MethodHandle factory;
+
+        private Target(int kind, Class<?> type, Target element, Target key, TypeConverter converter,
+                       MethodHandle factory) {
+            this.kind = kind;
+            this.type = type;
+            this.element = element;
+            this.key = key;
+            this.converter = converter;
+            this.emptyValue = ConverterRegistry.defaultValue(type);
+            this.factory = factory;
+        }
+
+        /**
+         * @param converter convertisseur du texte (ex: @DateFormat d'une propriété), null pour celui du type
+         */
+        static Target of(Type genericType, TypeConverter converter) {
+            Class<?> type = rawClass(genericType);
+            if (type == Object.class) {
+                return OBJECT;
+            }
+            if (converter == null) {
+                converter = ConverterRegistry.lookup(type);
+            }
+            int scalar = scalarKind(type);
+            if (scalar >= 0) {
+                return new Target(scalar, type, null, null, converter, null);
+            }
+            if (type.isArray()) {
+                Type component = genericType instanceof GenericArrayType
+                        ? ((GenericArrayType) genericType).getGenericComponentType() : type.getComponentType();
+                return new Target(ARRAY, type, of(component, null), null, null, null);
+            }
+            if (Map.class.isAssignableFrom(type)) {
+                Type keyType = typeArgument(genericType, 0);
+                Class<?> keyClass = rawClass(keyType);
+                Target key = keyClass == String.class || keyClass == Object.class ? null : of(keyType, null);
+                return new Target(MAP, type, of(typeArgument(genericType, 1), null), key, null,
+                                  containerFactory(type));
+            }
+            if (Collection.class.isAssignableFrom(type) || type == Iterable.class) {
+                return new Target(COLLECTION, type, of(typeArgument(genericType, 0), null), null, null,
+                                  containerFactory(type));
+            }
+            if (converter != null) {
+                // Enums, dates, types enregistrés dans ConverterRegistry
+                return new Target(CONVERTED, type, null, null, converter, null);
+            }
+            return new Target(BEAN, type, null, null, null, null);
+        }
+
+        private static int scalarKind(Class<?> type) {
+            if (type == String.class || type == CharSequence.class) return STRING;
+            if (type == boolean.class || type == Boolean.class) return BOOLEAN;
+            if (type == int.class || type == Integer.class) return INT;
+            if (type == long.class || type == Long.class) return LONG;
+            if (type == double.class || type == Double.class) return DOUBLE;
+            if (type == float.class || type == Float.class) return FLOAT;
+            if (type == short.class || type == Short.class) return SHORT;
+            if (type == byte.class || type == Byte.class) return BYTE;
+            if (type == char.class || type == Character.class) return CHAR;
+            if (type == BigDecimal.class) return BIG_DECIMAL;
+            if (type == BigInteger.class) return BIG_INTEGER;
+            return -1;
+        }
+
+        /**
+         * Conteneur à créer : ArrayList / LinkedHashSet / TreeSet / LinkedHashMap / TreeMap
+         * pour une interface, sinon le constructeur sans argument de la classe
+         */
+        private static MethodHandle containerFactory(Class<?> type) {
+            Class<?> implementation;
+            if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers())) {
+                implementation = type;
+            } else if (SortedMap.class.isAssignableFrom(type)) {
+                implementation = TreeMap.class;
+            } else if (Map.class.isAssignableFrom(type)) {
+                implementation = LinkedHashMap.class;
+            } else if (SortedSet.class.isAssignableFrom(type)) {
+                implementation = TreeSet.class;
+            } else if (Set.class.isAssignableFrom(type)) {
+                implementation = LinkedHashSet.class;
+            } else {
+                implementation = ArrayList.class;
+            }
+            if (!type.isAssignableFrom(implementation)) {
+                throw new IllegalArgumentException("Type @RequestBody non instanciable: " + type.getName());
+            }
+            try {
+                return MethodHandles.publicLookup().findConstructor(implementation,
+                        MethodType.methodType(void.class)).asType(MethodType.methodType(Object.class));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Constructeur public sans argument requis: " + type.getName(), e);
+            }
+        }
+
+        Object newContainer() {
+            try {
+                return factory.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        private static Class<?> rawClass(Type type) {
+            if (type instanceof Class) {
+                return (Class<?>) type;
+            }
+            if (type instanceof ParameterizedType) {
+                return rawClass(((ParameterizedType) type).getRawType());
+            }
+            if (type instanceof GenericArrayType) {
+                Class<?> component = rawClass(((GenericArrayType) type).getGenericComponentType());
+                return Array.newInstance(component, 0).getClass();
+            }
+            if (type instanceof WildcardType) {
+                return rawClass(((WildcardType) type).getUpperBounds()[0]);
+            }
+            if (type instanceof TypeVariable) {
+                Type[] bounds = ((TypeVariable<?>) type).getBounds();
+                return bounds.length > 0 ? rawClass(bounds[0]) : Object.class;
+            }
+            return Object.class;
+        }
+
+        private static Type typeArgument(Type type, int index) {
+            if (type instanceof ParameterizedType) {
+                Type[] args = ((ParameterizedType) type).getActualTypeArguments();
+                if (index < args.length) {
+                    return args[index];
+                }
+            }
+            // List brute, Map brute : valeurs non typées
+            return Object.class;
+        }
+    }
+
+    /**
+     * Propriété inscriptible d'une classe, avec le type cible de sa valeur
+     */
+    private static final class Slot {
+        final String name;
+        final BeanBinder.Property property;
+        final Target target;
+
+        Slot(String name, BeanBinder.Property property) {
+            this.name = name;
+            this.property = property;
+            this.target = Target.of(property.getGenericType() != null ? property.getGenericType()
+                                                                      : property.getType(),
+                                    property.getConverter());
+        }
+    }
+
+    /**
+     * Plan d'une classe : ses propriétés inscriptibles, par nom encodé
+     */
+    private static final class BeanPlan {
+        final BeanBinder binder;
+        final Slot[] slots;
+        final JsonReader.Names<Slot> names;
+
+        BeanPlan(Class<?> type) {
+            this.binder = BeanBinder.of(type);
+            Map<String, Slot> byName = new HashMap<>();
+            Map<BeanBinder.Property, Slot> byProperty = new HashMap<>();
+            for (Map.Entry<String, BeanBinder.Property> entry : binder.getProperties().entrySet()) {
+                BeanBinder.Property property = entry.getValue();
+                if (property.isWritable()) {
+                    // Alias ("FirstName") : même Slot que le nom de la propriété
+                    byName.put(entry.getKey(),
+                               byProperty.computeIfAbsent(property, p -> new Slot(p.getName(), p)));
+                }
+            }
+            this.slots = byProperty.values().toArray(new Slot[0]);
+            this.names = new JsonReader.Names<>(byName);
+        }
+    }
+
+    // ========== ERREURS ==========
+
+    /**
+     * Chemin de la valeur en cours ("lignes[2].prix"), construit seulement en cas d'erreur
+     */
+    private static final class Context {
+        private final HttpServletRequest request;
+        // Nom de propriété, ou null pour un index de tableau (indexes)
+        private String[] names = new String[16];
+        private int[] indexes = new int[16];
+        private int depth;
+
+        Context(HttpServletRequest request) {
+            this.request = request;
+        }
+
+        void push(String name) {
+            grow();
+            names[depth++] = name;
+        }
+
+        void push(int index) {
+            grow();
+            names[depth] = null;
+            indexes[depth++] = index;
+        }
+
+        private void grow() {
+            if (depth == names.length) {
+                names = Arrays.copyOf(names, depth * 2);
+                indexes = Arrays.copyOf(indexes, depth * 2);
+            }
+        }
+
+        void pop() {
+            depth--;
+        }
+
+        /**
+         * Enregistre une valeur non convertible
+         *
+         * @return INVALID (valeur ignorée)
+         */
+        Object reject(String value, Target target) {
+            StringBuilder name = new StringBuilder();
+            for (int i = 0; i < depth; i++) {
+                if (names[i] == null) {
+                    name.append('[').append(indexes[i]).append(']');
+                } else {
+                    if (name.length() > 0) {
+                        name.append('.');
+                    }
+                    name.append(names[i]);
+                }
+            }
+            BindingErrors.reject(request, name.toString(), value, target.type);
+            return INVALID;
+        }
+    }
+}
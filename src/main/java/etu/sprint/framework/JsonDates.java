@@ -0,0 +1,284 @@
+package etu.sprint.framework;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import etu.sprint.framework.annotation.JSON;
+
+/**
+ * Écriture des dates dans un JsonWriter
+ *
+ * Par défaut, ISO-8601 écrit chiffre par chiffre dans le tampon du writer :
+ * ni SimpleDateFormat partagé (non thread-safe), ni DateTimeFormatter.format
+ * (qui construit une chaîne par valeur).
+ *
+ *   Date            "2024-03-15T08:30:00.000Z"       (UTC, millisecondes, comme avant)
+ *   Instant         "2024-03-15T08:30:00Z"           (UTC, fraction 3/6/9 chiffres si non nulle)
+ *   LocalDate       "2024-03-15"
+ *   LocalDateTime   "2024-03-15T08:30:00"            (secondes, comme avant)
+ *   OffsetDateTime  "2024-03-15T08:30:00+03:00"      (fraction comme Instant)
+ *   ZonedDateTime   même forme qu'OffsetDateTime (le nom de la zone n'est pas écrit)
+ *
+ * Calendrier grégorien proléptique, comme java.time : une Date antérieure à 1582
+ * n'est plus écrite dans le calendrier julien (ancien SimpleDateFormat).
+ *
+ * Format de la route (@JSON(dateFormat)) : JSON.EPOCH_MILLIS écrit un nombre
+ * (millisecondes depuis 1970, UTC pour les types sans fuseau) ; un pattern
+ * DateTimeFormatter est appliqué à tous les types (Date et Instant en UTC).
+ * Une date que le pattern ne peut pas formater (ex: heures sur un LocalDate)
+ * est écrite en ISO-8601.
+ */
+final class JsonDates {
+
+    // Formats résolus, par pattern
+    private static final Map<String, Format> FORMATS = new ConcurrentHashMap<>();
+
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private JsonDates() {
+    }
+
+    /**
+     * Format @JSON(dateFormat) résolu
+     */
+    static final class Format {
+        final boolean epochMillis;
+        // Types java.time (fuseau propre conservé)
+        final DateTimeFormatter formatter;
+        // Date et Instant, formatés en UTC
+        final DateTimeFormatter utcFormatter;
+
+        private Format(String pattern) {
+            this.epochMillis = JSON.EPOCH_MILLIS.equals(pattern);
+            this.formatter = epochMillis ? null : ConverterRegistry.formatter(pattern);
+            this.utcFormatter = epochMillis ? null : formatter.withZone(ZoneOffset.UTC);
+        }
+    }
+
+    /**
+     * Format d'un pattern @JSON(dateFormat), null pour ISO-8601 ("" ou null)
+     *
+     * @throws IllegalArgumentException si le pattern est invalide
+     */
+    static Format format(String pattern) {
+        if (pattern == null || pattern.isEmpty()) {
+            return null;
+        }
+        return FORMATS.computeIfAbsent(pattern, Format::new);
+    }
+
+    /**
+     * Vrai pour les types de date écrits par cette classe
+     */
+    static boolean isDate(Class<?> type) {
+        return type == LocalDate.class || type == LocalDateTime.class || type == Instant.class
+            || type == OffsetDateTime.class || type == ZonedDateTime.class || Date.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Écrit une date (type accepté par isDate), selon le format du writer
+     */
+    static void write(Object value, JsonWriter json) throws IOException {
+        Format format = json.getDateFormat();
+        if (format == null) {
+            writeIso(value, json);
+        } else if (format.epochMillis) {
+            json.writeLong(epochMillis(value));
+        } else {
+            String text;
+            try {
+                // java.sql.Date / Time : toInstant() non supporté, passer par getTime()
+                text = value instanceof Date ? format.utcFormatter.format(Instant.ofEpochMilli(((Date) value).getTime()))
+                     : value instanceof Instant ? format.utcFormatter.format((Instant) value)
+                     : format.formatter.format((TemporalAccessor) value);
+            } catch (DateTimeException e) {
+                // Champ absent du type (ex: HH sur un LocalDate)
+                writeIso(value, json);
+                return;
+            }
+            json.writeString(text);
+        }
+    }
+
+    // ========== ISO-8601 ==========
+
+    private static void writeIso(Object value, JsonWriter json) throws IOException {
+        json.writeByte('"');
+        if (value instanceof LocalDate) {
+            writeDate((LocalDate) value, json);
+        } else if (value instanceof LocalDateTime) {
+            LocalDateTime dateTime = (LocalDateTime) value;
+            writeDate(dateTime.toLocalDate(), json);
+            json.writeByte('T');
+            writeTime(dateTime.toLocalTime(), json);
+        } else if (value instanceof OffsetDateTime) {
+            OffsetDateTime dateTime = (OffsetDateTime) value;
+            writeDateTime(dateTime.toLocalDateTime(), dateTime.getOffset(), json);
+        } else if (value instanceof ZonedDateTime) {
+            ZonedDateTime dateTime = (ZonedDateTime) value;
+            writeDateTime(dateTime.toLocalDateTime(), dateTime.getOffset(), json);
+        } else if (value instanceof Instant) {
+            Instant instant = (Instant) value;
+            writeEpoch(instant.getEpochSecond(), json);
+            writeFraction(instant.getNano(), json);
+            json.writeByte('Z');
+        } else {
+            long millis = ((Date) value).getTime();
+            writeEpoch(Math.floorDiv(millis, 1000), json);
+            json.writeByte('.');
+            json.writeDigits(Math.floorMod(millis, 1000), 3);
+            json.writeByte('Z');
+        }
+        json.writeByte('"');
+    }
+
+    private static void writeDateTime(LocalDateTime dateTime, ZoneOffset offset, JsonWriter json) throws IOException {
+        writeDate(dateTime.toLocalDate(), json);
+        json.writeByte('T');
+        LocalTime time = dateTime.toLocalTime();
+        writeTime(time, json);
+        writeFraction(time.getNano(), json);
+        writeOffset(offset.getTotalSeconds(), json);
+    }
+
+    private static void writeDate(LocalDate date, JsonWriter json) throws IOException {
+        writeDate(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), json);
+    }
+
+    /**
+     * yyyy-MM-dd ; année hors 0000-9999 signée, comme LocalDate.toString()
+     */
+    private static void writeDate(int year, int month, int day, JsonWriter json) throws IOException {
+        if (year > 9999) {
+            json.writeByte('+');
+            json.writeLong(year);
+        } else if (year < -9999) {
+            json.writeLong(year);
+        } else if (year < 0) {
+            json.writeByte('-');
+            json.writeDigits(-year, 4);
+        } else {
+            json.writeDigits(year, 4);
+        }
+        json.writeByte('-');
+        json.writeDigits(month, 2);
+        json.writeByte('-');
+        json.writeDigits(day, 2);
+    }
+
+    /**
+     * HH:mm:ss (sans fraction)
+     */
+    private static void writeTime(LocalTime time, JsonWriter json) throws IOException {
+        writeTime(time.getHour(), time.getMinute(), time.getSecond(), json);
+    }
+
+    private static void writeTime(int hour, int minute, int second, JsonWriter json) throws IOException {
+        json.writeDigits(hour, 2);
+        json.writeByte(':');
+        json.writeDigits(minute, 2);
+        json.writeByte(':');
+        json.writeDigits(second, 2);
+    }
+
+    /**
+     * Date et heure UTC d'un nombre de secondes depuis 1970, sans objet intermédiaire
+     * (jour civil calculé depuis le numéro du jour, algorithme de H. Hinnant)
+     */
+    private static void writeEpoch(long epochSecond, JsonWriter json) throws IOException {
+        long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+
+        long z = epochDay + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        writeDate((int) year, month, day, json);
+        json.writeByte('T');
+        writeTime(secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60, json);
+    }
+
+    /**
+     * .SSS, .SSSSSS ou .SSSSSSSSS selon la précision, rien si nulle (comme Instant.toString())
+     */
+    private static void writeFraction(int nano, JsonWriter json) throws IOException {
+        if (nano == 0) {
+            return;
+        }
+        json.writeByte('.');
+        if (nano % 1_000_000 == 0) {
+            json.writeDigits(nano / 1_000_000, 3);
+        } else if (nano % 1000 == 0) {
+            json.writeDigits(nano / 1000, 6);
+        } else {
+            json.writeDigits(nano, 9);
+        }
+    }
+
+    /**
+     * Z, ou ±HH:MM[:SS]
+     */
+    private static void writeOffset(int totalSeconds, JsonWriter json) throws IOException {
+        if (totalSeconds == 0) {
+            json.writeByte('Z');
+            return;
+        }
+        json.writeByte(totalSeconds < 0 ? '-' : '+');
+        int seconds = Math.abs(totalSeconds);
+        json.writeDigits(seconds / 3600, 2);
+        json.writeByte(':');
+        json.writeDigits(seconds / 60 % 60, 2);
+        if (seconds % 60 != 0) {
+            json.writeByte(':');
+            json.writeDigits(seconds % 60, 2);
+        }
+    }
+
+    // ========== EPOCH ==========
+
+    private static long epochMillis(Object value) {
+        if (value instanceof Date) {
+            return ((Date) value).getTime();
+        }
+        if (value instanceof Instant) {
+            return ((Instant) value).toEpochMilli();
+        }
+        if (value instanceof LocalDate) {
+            return ((LocalDate) value).toEpochDay() * SECONDS_PER_DAY * 1000;
+        }
+        long epochSecond;
+        int nano;
+        if (value instanceof LocalDateTime) {
+            LocalDateTime dateTime = (LocalDateTime) value;
+            epochSecond = dateTime.toEpochSecond(ZoneOffset.UTC);
+            nano = dateTime.getNano();
+        } else if (value instanceof OffsetDateTime) {
+            OffsetDateTime dateTime = (OffsetDateTime) value;
+            epochSecond = dateTime.toEpochSecond();
+            nano = dateTime.getNano();
+        } else {
+            ZonedDateTime dateTime = (ZonedDateTime) value;
+            epochSecond = dateTime.toEpochSecond();
+            nano = dateTime.getNano();
+        }
+        return epochSecond * 1000 + nano / 1_000_000;
+    }
+}
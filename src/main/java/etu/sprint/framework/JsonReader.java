@@ -0,0 +1,597 @@
+package etu.sprint.framework;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Lecture JSON en flux depuis un InputStream, à travers un tampon borné
+ *
+ * Le corps n'est jamais chargé en entier : les octets sont lus par blocs
+ * de 8 Ko (tampons réutilisés, comme JsonWriter) et analysés sur place.
+ * Les clés d'objet sont comparées directement aux noms pré-encodés en UTF-8
+ * d'une table Names, sans créer de String ; une chaîne sans échappement
+ * est construite en une seule copie depuis le tampon.
+ *
+ * Limites : taille totale lue (413 au-delà) et profondeur d'imbrication (400),
+ * signalées par RequestBodyException.
+ */
+final class JsonReader implements AutoCloseable {
+
+    static final int BUFFER_SIZE = 8192;
+
+    // Résultat de readNumber()
+    static final int INTEGRAL = 0;
+    static final int DECIMAL = 1;
+
+    private static final ArrayBlockingQueue<byte[]> POOL = new ArrayBlockingQueue<>(64);
+
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private final InputStream in;
+    private final long maxBytes;
+    private final int maxDepth;
+    private byte[] buffer;
+    private int pos;
+    private int limit;
+    private long consumed;
+    private int depth;
+
+    // Texte d'une chaîne avec échappements, ou d'un nombre
+    private char[] chars = new char[64];
+    private int numberLength;
+    private long integralValue;
+    private boolean integerText;
+
+    private JsonReader(InputStream in, byte[] buffer, long maxBytes, int maxDepth) {
+        this.in = in;
+        this.buffer = buffer;
+        this.maxBytes = maxBytes;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @param maxBytes taille maximale lue depuis le flux
+     * @param maxDepth imbrication maximale d'objets / tableaux
+     */
+    static JsonReader open(InputStream in, long maxBytes, int maxDepth) {
+        byte[] buffer = POOL.poll();
+        return new JsonReader(in, buffer != null ? buffer : new byte[BUFFER_SIZE], maxBytes, maxDepth);
+    }
+
+    // ========== TAMPON ==========
+
+    /**
+     * Garde les octets non consommés [pos, limit) en début de tampon et lit la suite
+     *
+     * @return octets lus, 0 si le tampon est plein, -1 en fin de flux
+     */
+    private int fill() throws IOException {
+        if (pos > 0) {
+            System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        if (limit == buffer.length) {
+            return 0;
+        }
+        int n = in.read(buffer, limit, buffer.length - limit);
+        if (n < 0) {
+            return -1;
+        }
+        consumed += n;
+        if (consumed > maxBytes) {
+            throw new RequestBodyException(413, "Corps JSON trop volumineux (max " + maxBytes + " octets)");
+        }
+        limit += n;
+        return n;
+    }
+
+    private int nextByte() throws IOException {
+        if (pos == limit && fill() < 0) {
+            throw syntax("fin du corps inattendue");
+        }
+        return buffer[pos++] & 0xFF;
+    }
+
+    /**
+     * Octet suivant sans le consommer ni sauter les espaces, -1 en fin de flux
+     */
+    private int peekByte() throws IOException {
+        if (pos == limit && fill() < 0) {
+            return -1;
+        }
+        return buffer[pos] & 0xFF;
+    }
+
+    // ========== STRUCTURE ==========
+
+    /**
+     * Prochain caractère significatif (espaces sautés, non consommé), -1 en fin de flux
+     */
+    int peek() throws IOException {
+        while (true) {
+            while (pos < limit) {
+                byte b = buffer[pos];
+                if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                    return b & 0xFF;
+                }
+                pos++;
+            }
+            if (fill() < 0) {
+                return -1;
+            }
+        }
+    }
+
+    void expect(char c) throws IOException {
+        if (peek() != c) {
+            throw syntax("'" + c + "' attendu");
+        }
+        pos++;
+    }
+
+    /**
+     * '{' ou '[' : entre dans un objet ou un tableau
+     */
+    void begin(char open) throws IOException {
+        expect(open);
+        if (++depth > maxDepth) {
+            throw new RequestBodyException(400, "JSON trop imbriqué (profondeur max " + maxDepth + ")");
+        }
+    }
+
+    /**
+     * Avant chaque élément d'un objet ou d'un tableau : consomme la virgule,
+     * ou la fin de la structure
+     *
+     *   for (boolean first = true; reader.hasNext(']', first); first = false) { ... }
+     *
+     * @return false si la structure est terminée
+     */
+    boolean hasNext(char close, boolean first) throws IOException {
+        int c = peek();
+        if (c == close) {
+            pos++;
+            depth--;
+            return false;
+        }
+        if (!first) {
+            if (c != ',') {
+                throw syntax("',' ou '" + close + "' attendu");
+            }
+            pos++;
+        }
+        return true;
+    }
+
+    /**
+     * Fin du corps : rien d'autre que des espaces après la valeur
+     */
+    void end() throws IOException {
+        if (peek() >= 0) {
+            throw syntax("contenu après la valeur JSON");
+        }
+    }
+
+    // ========== VALEURS ==========
+
+    boolean readBoolean() throws IOException {
+        int c = peek();
+        if (c == 't') {
+            literal(TRUE);
+            return true;
+        }
+        if (c == 'f') {
+            literal(FALSE);
+            return false;
+        }
+        throw syntax("booléen attendu");
+    }
+
+    void readNull() throws IOException {
+        peek();
+        literal(NULL);
+    }
+
+    private void literal(byte[] expected) throws IOException {
+        for (byte b : expected) {
+            if (nextByte() != b) {
+                throw syntax("valeur invalide");
+            }
+        }
+    }
+
+    /**
+     * Chaîne JSON ; sans échappement et contenue dans le tampon : une seule copie
+     */
+    String readString() throws IOException {
+        expect('"');
+        boolean ascii = true;
+        for (int i = pos; i < limit; i++) {
+            byte b = buffer[i];
+            if (b == '"') {
+                String text = new String(buffer, pos, i - pos,
+                                         ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+                pos = i + 1;
+                return text;
+            }
+            if (b == '\\' || (b >= 0 && b < 0x20)) {
+                break;
+            }
+            ascii &= b >= 0;
+        }
+        return readStringSlow();
+    }
+
+    /**
+     * Décodage octet par octet (échappements, chaîne à cheval sur deux lectures)
+     */
+    private String readStringSlow() throws IOException {
+        char[] out = chars;
+        int n = 0;
+        while (true) {
+            int b = nextByte();
+            if (n + 2 > out.length) {
+                out = chars = Arrays.copyOf(out, out.length * 2);
+            }
+            if (b == '"') {
+                return new String(out, 0, n);
+            }
+            if (b == '\\') {
+                out[n++] = readEscape();
+            } else if (b < 0x20) {
+                throw syntax("caractère de contrôle dans une chaîne");
+            } else if (b < 0x80) {
+                out[n++] = (char) b;
+            } else {
+                int cp = readUtf8(b);
+                if (cp >= 0x10000) {
+                    out[n++] = Character.highSurrogate(cp);
+                    out[n++] = Character.lowSurrogate(cp);
+                } else {
+                    out[n++] = (char) cp;
+                }
+            }
+        }
+    }
+
+    private char readEscape() throws IOException {
+        int c = nextByte();
+        switch (c) {
+            case '"': return '"';
+            case '\\': return '\\';
+            case '/': return '/';
+            case 'b': return '\b';
+            case 'f': return '\f';
+            case 'n': return '\n';
+            case 'r': return '\r';
+            case 't': return '\t';
+            case 'u': {
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(nextByte(), 16);
+                    if (digit < 0) {
+                        throw syntax("échappement \\u invalide");
+                    }
+                    value = (value << 4) | digit;
+                }
+                return (char) value;
+            }
+            default:
+                throw syntax("échappement invalide");
+        }
+    }
+
+    /**
+     * Caractère UTF-8 à partir de son premier octet ; séquence invalide → U+FFFD
+     * (comme new String(bytes, UTF_8))
+     */
+    private int readUtf8(int lead) throws IOException {
+        int extra;
+        int cp;
+        if (lead >= 0xF0 && lead <= 0xF4) {
+            extra = 3;
+            cp = lead & 0x07;
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            extra = 2;
+            cp = lead & 0x0F;
+        } else if (lead >= 0xC2 && lead <= 0xDF) {
+            extra = 1;
+            cp = lead & 0x1F;
+        } else {
+            return 0xFFFD;
+        }
+        for (int i = 0; i < extra; i++) {
+            int b = nextByte();
+            if ((b & 0xC0) != 0x80) {
+                // Octet rendu : il commence peut-être le caractère suivant
+                pos--;
+                return 0xFFFD;
+            }
+            cp = (cp << 6) | (b & 0x3F);
+        }
+        // Forme trop longue, demi-surrogate, au-delà de U+10FFFF
+        if ((extra == 2 && (cp < 0x800 || (cp >= 0xD800 && cp <= 0xDFFF)))
+                || (extra == 3 && (cp < 0x10000 || cp > 0x10FFFF))) {
+            return 0xFFFD;
+        }
+        return cp;
+    }
+
+    /**
+     * Clé d'objet (guillemets inclus) cherchée dans une table de noms ;
+     * comparée directement dans le tampon si elle ne contient pas d'échappement
+     *
+     * @return la valeur associée au nom, ou null si le nom est inconnu
+     */
+    <T> T readKey(Names<T> names) throws IOException {
+        expect('"');
+        int i = pos;
+        while (true) {
+            if (i == limit) {
+                int offset = i - pos;
+                int n = fill();
+                if (n < 0) {
+                    throw syntax("fin du corps inattendue");
+                }
+                if (n == 0) {
+                    // Clé plus longue que le tampon
+                    break;
+                }
+                i = pos + offset;
+                continue;
+            }
+            byte b = buffer[i];
+            if (b == '"') {
+                T value = names.get(buffer, pos, i);
+                pos = i + 1;
+                return value;
+            }
+            if (b == '\\') {
+                break;
+            }
+            i++;
+        }
+        return names.get(readStringSlow());
+    }
+
+    /**
+     * Nombre JSON : -?chiffres(.chiffres)?([eE][+-]?chiffres)?
+     *
+     * @return INTEGRAL (valeur dans longValue()) ou DECIMAL (texte dans numberText(),
+     *         entier hors des bornes d'un long si isIntegerText())
+     */
+    int readNumber() throws IOException {
+        peek();
+        int n = 0;
+        boolean negative = false;
+        int c = peekByte();
+        if (c == '-') {
+            negative = true;
+            n = append(n, c);
+            c = peekByte();
+        }
+        // Accumulation en négatif, comme Long.parseLong
+        long limitValue = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multmin = limitValue / 10;
+        long result = 0;
+        boolean overflow = false;
+        int digits = 0;
+        while (c >= '0' && c <= '9') {
+            if (digits == 1 && result == 0) {
+                // "0123" : zéro non significatif, refusé par JSON
+                throw syntax("nombre invalide");
+            }
+            int digit = c - '0';
+            if (result < multmin || result * 10 < limitValue + digit) {
+                overflow = true;
+            } else {
+                result = result * 10 - digit;
+            }
+            n = append(n, c);
+            digits++;
+            c = peekByte();
+        }
+        if (digits == 0) {
+            throw syntax("nombre invalide");
+        }
+        boolean integral = true;
+        if (c == '.') {
+            integral = false;
+            n = append(n, c);
+            c = peekByte();
+            n = appendDigits(n, c);
+            c = peekByte();
+        }
+        if (c == 'e' || c == 'E') {
+            integral = false;
+            n = append(n, c);
+            c = peekByte();
+            if (c == '+' || c == '-') {
+                n = append(n, c);
+                c = peekByte();
+            }
+            n = appendDigits(n, c);
+        }
+        numberLength = n;
+        integerText = integral;
+        if (integral && !overflow) {
+            integralValue = negative ? result : -result;
+            return INTEGRAL;
+        }
+        return DECIMAL;
+    }
+
+    /**
+     * Consomme l'octet courant c et l'ajoute au texte du nombre
+     */
+    private int append(int n, int c) {
+        if (n == chars.length) {
+            chars = Arrays.copyOf(chars, n * 2);
+        }
+        chars[n] = (char) c;
+        pos++;
+        return n + 1;
+    }
+
+    private int appendDigits(int n, int c) throws IOException {
+        int start = n;
+        while (c >= '0' && c <= '9') {
+            n = append(n, c);
+            c = peekByte();
+        }
+        if (n == start) {
+            throw syntax("nombre invalide");
+        }
+        return n;
+    }
+
+    long longValue() {
+        return integralValue;
+    }
+
+    String numberText() {
+        return new String(chars, 0, numberLength);
+    }
+
+    boolean isIntegerText() {
+        return integerText;
+    }
+
+    /**
+     * Saute une valeur (propriété inconnue), sans construire de chaîne
+     */
+    void skipValue() throws IOException {
+        int c = peek();
+        switch (c) {
+            case '"':
+                pos++;
+                skipStringBody();
+                break;
+            case '{':
+                begin('{');
+                for (boolean first = true; hasNext('}', first); first = false) {
+                    expect('"');
+                    skipStringBody();
+                    expect(':');
+                    skipValue();
+                }
+                break;
+            case '[':
+                begin('[');
+                for (boolean first = true; hasNext(']', first); first = false) {
+                    skipValue();
+                }
+                break;
+            case 't':
+            case 'f':
+                readBoolean();
+                break;
+            case 'n':
+                readNull();
+                break;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    readNumber();
+                } else {
+                    throw syntax("valeur attendue");
+                }
+        }
+    }
+
+    private void skipStringBody() throws IOException {
+        while (true) {
+            int b = nextByte();
+            if (b == '"') {
+                return;
+            }
+            if (b == '\\') {
+                nextByte();
+            } else if (b < 0x20) {
+                throw syntax("caractère de contrôle dans une chaîne");
+            }
+        }
+    }
+
+    /**
+     * Erreur de syntaxe, avec la position (en octets) dans le corps
+     */
+    RequestBodyException syntax(String message) {
+        long position = consumed - (limit - pos);
+        return new RequestBodyException(400, "JSON invalide (octet " + position + ") : " + message);
+    }
+
+    /**
+     * Rend le tampon au pool (le flux n'est pas fermé)
+     */
+    @Override
+    public void close() {
+        if (buffer != null) {
+            POOL.offer(buffer);
+            buffer = null;
+        }
+    }
+
+    // ========== TABLE DE NOMS ==========
+
+    /**
+     * Noms pré-encodés en UTF-8 (adressage ouvert sur un hachage FNV-1a des octets),
+     * pour comparer une clé sans la décoder
+     */
+    static final class Names<T> {
+        private final byte[][] keys;
+        private final Object[] values;
+        private final int mask;
+        // Clés avec échappement (readStringSlow)
+        private final Map<String, T> byName = new HashMap<>();
+
+        Names(Map<String, T> entries) {
+            int capacity = Integer.highestOneBit(Math.max(4, entries.size() * 2 - 1)) << 1;
+            this.keys = new byte[capacity][];
+            this.values = new Object[capacity];
+            this.mask = capacity - 1;
+            for (Map.Entry<String, T> entry : entries.entrySet()) {
+                byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                int slot = hash(key, 0, key.length) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = entry.getValue();
+                byName.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        T get(byte[] bytes, int start, int end) {
+            int slot = hash(bytes, start, end) & mask;
+            int length = end - start;
+            for (byte[] key = keys[slot]; key != null; key = keys[slot = (slot + 1) & mask]) {
+                if (key.length == length && Arrays.equals(key, 0, length, bytes, start, end)) {
+                    return (T) values[slot];
+                }
+            }
+            return null;
+        }
+
+        T get(String name) {
+            return byName.get(name);
+        }
+
+        private static int hash(byte[] bytes, int start, int end) {
+            int hash = 0x811c9dc5;
+            for (int i = start; i < end; i++) {
+                hash ^= bytes[i] & 0xFF;
+                hash *= 0x01000193;
+            }
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
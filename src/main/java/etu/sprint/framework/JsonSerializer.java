@@ -1,49 +1,86 @@
 // File name: JsonSerializer.java
 package etu.sprint.framework;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.text.SimpleDateFormat;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 /**
  * SPRINT 9 : Serialiseur JSON simple pour convertir des objets Java en JSON
+ *
+ * Les propriétés d'une classe (ordre, accesseurs) sont résolues une seule fois
+ * puis mises en cache : sérialiser 10 000 DTO d'une même classe ne refait
+ * la réflexion qu'une fois, chaque valeur est lue par un MethodHandle.
+ *
+ * Dates (Date, Instant, LocalDate, LocalDateTime, OffsetDateTime, ZonedDateTime) :
+ * voir JsonDates, sans formateur partagé entre les threads.
  */
 public class JsonSerializer {
     
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-    private static final DateTimeFormatter LOCAL_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private static final DateTimeFormatter LOCAL_DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
-    
-    static {
-        DATE_FORMAT.setTimeZone(TimeZone.getTimeZone("UTC"));
-    }
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
     
     /**
      * Convertit un objet Java en chaîne JSON
      */
     public static String toJson(Object obj) {
+        return toJson(obj, "");
+    }
+    
+    /**
+     * Convertit un objet Java en chaîne JSON, dates au format donné (voir @JSON(dateFormat))
+     */
+    public static String toJson(Object obj, String dateFormat) {
         if (obj == null) {
             return "null";
         }
         
-        StringBuilder json = new StringBuilder();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonWriter json = JsonWriter.open(bytes).withDateFormat(dateFormat)) {
+            serialize(obj, json);
+            json.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Écrit l'objet en JSON (UTF-8) dans un flux, au fil de la sérialisation
+     * (tampon borné : la réponse n'est jamais construite en entier en mémoire)
+     */
+    public static void write(Object obj, OutputStream out) throws IOException {
+        try (JsonWriter json = JsonWriter.open(out)) {
+            serialize(obj, json);
+            json.finish();
+        }
+    }
+    
+    /**
+     * Écrit l'objet en JSON avec un writer déjà ouvert
+     */
+    public static void write(Object obj, JsonWriter json) throws IOException {
         serialize(obj, json);
-        return json.toString();
     }
     
     /**
-     * Sérialise un objet dans un StringBuilder
+     * Sérialise un objet dans le writer
      */
-    private static void serialize(Object obj, StringBuilder json) {
+    private static void serialize(Object obj, JsonWriter json) throws IOException {
         if (obj == null) {
-            json.append("null");
+            json.writeBytes(NULL);
             return;
         }
         
@@ -51,29 +88,26 @@ public class JsonSerializer {
         
         // Cas des types de base
         if (obj instanceof String) {
-            json.append("\"").append(escapeJsonString((String) obj)).append("\"");
+            json.writeString((String) obj);
         } 
         else if (obj instanceof Number) {
-            if (obj instanceof Float || obj instanceof Double) {
-                json.append(obj);
+            if (obj instanceof Integer || obj instanceof Long || obj instanceof Short || obj instanceof Byte) {
+                json.writeLong(((Number) obj).longValue());
+            } else if (obj instanceof Float || obj instanceof Double) {
+                json.writeAscii(obj.toString());
             } else {
-                json.append(obj);
+                json.writeRaw(obj.toString());
             }
         }
         else if (obj instanceof Boolean) {
-            json.append(obj);
+            json.writeBytes((Boolean) obj ? TRUE : FALSE);
         }
         else if (obj instanceof Character) {
-            json.append("\"").append(escapeJsonString(String.valueOf(obj))).append("\"");
-        }
-        else if (obj instanceof Date) {
-            json.append("\"").append(DATE_FORMAT.format((Date) obj)).append("\"");
+            json.writeString(String.valueOf(obj));
         }
-        else if (obj instanceof LocalDate) {
-            json.append("\"").append(LOCAL_DATE_FORMAT.format((LocalDate) obj)).append("\"");
-        }
-        else if (obj instanceof LocalDateTime) {
-            json.append("\"").append(LOCAL_DATE_TIME_FORMAT.format((LocalDateTime) obj)).append("\"");
+        // Dates : ISO-8601 écrit dans le tampon, ou format de la route
+        else if (JsonDates.isDate(clazz)) {
+            JsonDates.write(obj, json);
         }
         // Collections
         else if (obj instanceof Iterable) {
@@ -92,25 +126,97 @@ public class JsonSerializer {
     }
     
     /**
-     * Sérialise un objet personnalisé
+     * Sérialise un objet personnalisé, selon le plan (en cache) de sa classe
      */
-    private static void serializeObject(Object obj, StringBuilder json) {
-        Class<?> clazz = obj.getClass();
-        json.append("{");
+    private static void serializeObject(Object obj, JsonWriter json) throws IOException {
+        json.writeByte('{');
+        
+        boolean first = true;
+        for (JsonProperty property : PLANS.get(obj.getClass())) {
+            Object value;
+            try {
+                value = property.read(obj);
+            } catch (RuntimeException e) {
+                // Ignorer les champs inaccessibles (les Error, ex: StackOverflowError, remontent)
+                continue;
+            }
+            if (value != null || shouldIncludeNulls()) {
+                if (!first) {
+                    json.writeByte(',');
+                }
+                json.writeBytes(property.encodedName);
+                serialize(value, json);
+                first = false;
+            }
+        }
+        
+        json.writeByte('}');
+    }
+    
+    // ========== PLANS DE SÉRIALISATION (par classe) ==========
+    
+    /**
+     * Propriétés d'une classe, calculées une seule fois (ClassValue : pas de fuite
+     * du class loader de l'application au redéploiement)
+     */
+    private static final ClassValue<JsonProperty[]> PLANS = new ClassValue<JsonProperty[]>() {
+        @Override
+        protected JsonProperty[] computeValue(Class<?> type) {
+            return createPlan(type);
+        }
+    };
+    
+    private static final MethodType READER_TYPE = MethodType.methodType(Object.class, Object.class);
+    
+    /**
+     * Propriété JSON : nom (entre guillemets, suivi de ':', déjà encodé) et accesseur pré-résolu
+     */
+    private static final class JsonProperty {
+        final String name;
+        // "name": pré-encodé en UTF-8
+        final byte[] encodedName;
+        // null : aucune source trouvée, la valeur est null
+        final MethodHandle reader;
         
-        List<String> fields = new ArrayList<>();
+        JsonProperty(String name, MethodHandle reader) {
+            this.name = name;
+            this.encodedName = ("\"" + name + "\":").getBytes(StandardCharsets.UTF_8);
+            this.reader = reader;
+        }
+        
+        /**
+         * Valeur de la propriété ; exception contrôlée du getter → IllegalStateException
+         */
+        Object read(Object obj) {
+            if (reader == null) {
+                return null;
+            }
+            try {
+                return (Object) reader.invokeExact(obj);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Lecture impossible: " + name, t);
+            }
+        }
+    }
+    
+    /**
+     * Même ordre qu'avant : champs non statiques déclarés par la classe,
+     * puis noms tirés des getters/is déclarés par la classe (sans doublon)
+     */
+    private static JsonProperty[] createPlan(Class<?> clazz) {
+        Set<String> names = new LinkedHashSet<>();
         
         // Récupérer tous les champs (incluant les hérités)
-        Field[] declaredFields = clazz.getDeclaredFields();
-        for (Field field : declaredFields) {
+        for (Field field : clazz.getDeclaredFields()) {
             if (!Modifier.isStatic(field.getModifiers())) {
-                fields.add(field.getName());
+                names.add(field.getName());
             }
         }
         
         // Récupérer les getters
-        Method[] methods = clazz.getDeclaredMethods();
-        for (Method method : methods) {
+        for (Method method : clazz.getDeclaredMethods()) {
             String methodName = method.getName();
             if ((methodName.startsWith("get") || methodName.startsWith("is")) 
                 && method.getParameterCount() == 0
@@ -121,102 +227,101 @@ public class JsonSerializer {
                     : methodName.substring(2);
                 
                 if (!fieldName.isEmpty()) {
-                    fieldName = Character.toLowerCase(fieldName.charAt(0)) + fieldName.substring(1);
-                    if (!fields.contains(fieldName)) {
-                        fields.add(fieldName);
-                    }
+                    names.add(Character.toLowerCase(fieldName.charAt(0)) + fieldName.substring(1));
                 }
             }
         }
         
-        boolean first = true;
-        for (String fieldName : fields) {
+        List<JsonProperty> plan = new ArrayList<>(names.size());
+        for (String name : names) {
             try {
-                Object value = getFieldValue(obj, fieldName);
-                if (value != null || shouldIncludeNulls()) {
-                    if (!first) {
-                        json.append(",");
-                    }
-                    json.append("\"").append(fieldName).append("\":");
-                    serialize(value, json);
-                    first = false;
-                }
-            } catch (Exception e) {
+                plan.add(new JsonProperty(name, resolveReader(clazz, name)));
+            } catch (IllegalAccessException | RuntimeException e) {
                 // Ignorer les champs inaccessibles
             }
         }
-        
-        json.append("}");
+        return plan.toArray(new JsonProperty[0]);
     }
     
     /**
-     * Récupère la valeur d'un champ (via getter ou accès direct)
+     * Accesseur d'une propriété (même recherche que l'ancien getFieldValue) :
+     * getter public getXxx(), puis isXxx(), puis champ de la classe ou de sa classe parente
+     *
+     * @return null si aucune source (valeur null)
      */
-    private static Object getFieldValue(Object obj, String fieldName) throws Exception {
-        Class<?> clazz = obj.getClass();
+    private static MethodHandle resolveReader(Class<?> clazz, String fieldName) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        String suffix = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
         
-        // Essayer le getter
-        String getterName = "get" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
-        try {
-            Method getter = clazz.getMethod(getterName);
-            return getter.invoke(obj);
-        } catch (NoSuchMethodException e) {
-            // Essayer le getter boolean
-            getterName = "is" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+        for (String prefix : new String[]{"get", "is"}) {
             try {
-                Method getter = clazz.getMethod(getterName);
-                return getter.invoke(obj);
-            } catch (NoSuchMethodException e2) {
-                // Accéder directement au champ
-                try {
-                    Field field = clazz.getDeclaredField(fieldName);
-                    field.setAccessible(true);
-                    return field.get(obj);
-                } catch (NoSuchFieldException e3) {
-                    // Chercher dans la classe parent
-                    Class<?> superClass = clazz.getSuperclass();
-                    if (superClass != null && superClass != Object.class) {
-                        try {
-                            Field field = superClass.getDeclaredField(fieldName);
-                            field.setAccessible(true);
-                            return field.get(obj);
-                        } catch (NoSuchFieldException e4) {
-                            return null;
-                        }
-                    }
-                    return null;
-                }
+                Method getter = clazz.getMethod(prefix + suffix);
+                getter.setAccessible(true);
+                return asReader(lookup.unreflect(getter), getter.getModifiers());
+            } catch (NoSuchMethodException e) {
+                // Essayer la source suivante
+            }
+        }
+        
+        Field field = findField(clazz, fieldName);
+        if (field == null) {
+            Class<?> superClass = clazz.getSuperclass();
+            if (superClass != null && superClass != Object.class) {
+                field = findField(superClass, fieldName);
             }
         }
+        if (field == null) {
+            return null;
+        }
+        field.setAccessible(true);
+        return asReader(lookup.unreflectGetter(field), field.getModifiers());
+    }
+    
+    /**
+     * Handle de forme (Object)Object ; un membre statique ignore l'objet
+     */
+    private static MethodHandle asReader(MethodHandle handle, int modifiers) {
+        if (Modifier.isStatic(modifiers)) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle.asType(READER_TYPE);
+    }
+    
+    private static Field findField(Class<?> clazz, String fieldName) {
+        try {
+            return clazz.getDeclaredField(fieldName);
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
     }
     
     /**
      * Sérialise une collection
      */
-    private static void serializeIterable(Iterable<?> iterable, StringBuilder json) {
-        json.append("[");
+    private static void serializeIterable(Iterable<?> iterable, JsonWriter json) throws IOException {
+        json.writeByte('[');
         boolean first = true;
         for (Object item : iterable) {
             if (!first) {
-                json.append(",");
+                json.writeByte(',');
             }
             serialize(item, json);
             first = false;
         }
-        json.append("]");
+        json.writeByte(']');
     }
     
     /**
      * Sérialise un tableau
      */
-    private static void serializeArray(Object array, StringBuilder json) {
-        json.append("[");
+    private static void serializeArray(Object array, JsonWriter json) throws IOException {
+        json.writeByte('[');
         
         if (array instanceof Object[]) {
             Object[] objArray = (Object[]) array;
             for (int i = 0; i < objArray.length; i++) {
                 if (i > 0) {
-                    json.append(",");
+                    json.writeByte(',');
                 }
                 serialize(objArray[i], json);
             }
@@ -224,85 +329,55 @@ public class JsonSerializer {
             int[] intArray = (int[]) array;
             for (int i = 0; i < intArray.length; i++) {
                 if (i > 0) {
-                    json.append(",");
+                    json.writeByte(',');
                 }
-                json.append(intArray[i]);
+                json.writeInt(intArray[i]);
             }
         } else if (array instanceof long[]) {
             long[] longArray = (long[]) array;
             for (int i = 0; i < longArray.length; i++) {
                 if (i > 0) {
-                    json.append(",");
+                    json.writeByte(',');
                 }
-                json.append(longArray[i]);
+                json.writeLong(longArray[i]);
             }
         } else if (array instanceof double[]) {
             double[] doubleArray = (double[]) array;
             for (int i = 0; i < doubleArray.length; i++) {
                 if (i > 0) {
-                    json.append(",");
+                    json.writeByte(',');
                 }
-                json.append(doubleArray[i]);
+                json.writeAscii(Double.toString(doubleArray[i]));
             }
         } else if (array instanceof boolean[]) {
             boolean[] booleanArray = (boolean[]) array;
             for (int i = 0; i < booleanArray.length; i++) {
                 if (i > 0) {
-                    json.append(",");
+                    json.writeByte(',');
                 }
-                json.append(booleanArray[i]);
+                json.writeBytes(booleanArray[i] ? TRUE : FALSE);
             }
         }
         
-        json.append("]");
+        json.writeByte(']');
     }
     
     /**
      * Sérialise une Map
      */
-    private static void serializeMap(Map<?, ?> map, StringBuilder json) {
-        json.append("{");
+    private static void serializeMap(Map<?, ?> map, JsonWriter json) throws IOException {
+        json.writeByte('{');
         boolean first = true;
         for (Map.Entry<?, ?> entry : map.entrySet()) {
             if (!first) {
-                json.append(",");
+                json.writeByte(',');
             }
-            json.append("\"").append(escapeJsonString(String.valueOf(entry.getKey()))).append("\":");
+            json.writeString(String.valueOf(entry.getKey()));
+            json.writeByte(':');
             serialize(entry.getValue(), json);
             first = false;
         }
-        json.append("}");
-    }
-    
-    /**
-     * Échappe une chaîne pour JSON
-     */
-    private static String escapeJsonString(String str) {
-        if (str == null) {
-            return "";
-        }
-        
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < str.length(); i++) {
-            char c = str.charAt(i);
-            switch (c) {
-                case '"': sb.append("\\\""); break;
-                case '\\': sb.append("\\\\"); break;
-                case '/': sb.append("\\/"); break;
-                case '\b': sb.append("\\b"); break;
-                case '\f': sb.append("\\f"); break;
-                case '\n': sb.append("\\n"); break;
-                case '\r': sb.append("\\r"); break;
-                case '\t': sb.append("\\t"); break;
-                default:
-                    if (c < 0x20) {
-                        sb.append(String.format("\\u%04x", (int) c));
-                    } else {
-                        sb.append(c);
-                    }
-            }
-        }
-        return sb.toString();
+        json.writeByte('}');
     }
     
     /**
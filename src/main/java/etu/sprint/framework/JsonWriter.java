@@ -0,0 +1,312 @@
+package etu.sprint.framework;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.IntConsumer;
+
+/**
+ * Écriture JSON en flux vers un OutputStream, à travers un tampon borné
+ *
+ * Le tampon (8 Ko) est vidé dans le flux dès qu'il est plein : une grande liste
+ * part par morceaux au fil de la sérialisation, la mémoire utilisée par réponse
+ * reste constante. Les tampons sont réutilisés entre les réponses (pool borné,
+ * sans ThreadLocal, compatible avec les threads virtuels) : close() rend le tampon.
+ *
+ * Encodage UTF-8 directement en octets : chaînes échappées caractère par caractère
+ * (ASCII sans échappement copié tel quel), entiers écrits chiffre par chiffre,
+ * noms de propriétés pré-encodés par le plan de la classe (writeBytes).
+ *
+ * Réponse entièrement contenue dans le tampon (jamais vidé avant finish()) :
+ * sa taille exacte est passée à onSmallBody avant l'écriture (Content-Length
+ * au lieu d'une réponse "chunked").
+ *
+ * finish() termine une sérialisation réussie (Content-Length, vidage) ; close()
+ * ne fait que rendre le tampon : après une exception, le contenu partiel du
+ * tampon n'est jamais envoyé.
+ *
+ *   try (JsonWriter writer = JsonWriter.open(response.getOutputStream(), response::setContentLength)) {
+ *       JsonSerializer.write(result, writer);
+ *       writer.finish();
+ *   }
+ *
+ * Dates : ISO-8601 par défaut, ou format de la route avec withDateFormat() (voir JsonDates).
+ */
+public final class JsonWriter implements AutoCloseable {
+
+    static final int BUFFER_SIZE = 8192;
+
+    // Tampons libres (au-delà, un tampon rendu est laissé au GC)
+    private static final ArrayBlockingQueue<byte[]> POOL = new ArrayBlockingQueue<>(64);
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    // Plus long texte produit par un caractère : \\uXXXX (6 octets)
+    private static final int MAX_CHAR_BYTES = 6;
+
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream out;
+    private final IntConsumer onSmallBody;
+    private byte[] buffer;
+    private int count;
+    private boolean flushed;
+
+    // Format @JSON(dateFormat), null : ISO-8601
+    private JsonDates.Format dateFormat;
+
+    private JsonWriter(OutputStream out, byte[] buffer, IntConsumer onSmallBody) {
+        this.out = out;
+        this.buffer = buffer;
+        this.onSmallBody = onSmallBody;
+    }
+
+    /**
+     * Writer sur un flux, avec un tampon du pool
+     */
+    public static JsonWriter open(OutputStream out) {
+        return open(out, null);
+    }
+
+    /**
+     * @param onSmallBody reçoit la taille totale si toute la réponse tient dans le tampon (peut être null)
+     */
+    public static JsonWriter open(OutputStream out, IntConsumer onSmallBody) {
+        byte[] buffer = POOL.poll();
+        return new JsonWriter(out, buffer != null ? buffer : new byte[BUFFER_SIZE], onSmallBody);
+    }
+
+    /**
+     * Format des dates : pattern DateTimeFormatter, JSON.EPOCH_MILLIS, ou "" pour ISO-8601
+     *
+     * @throws IllegalArgumentException si le pattern est invalide
+     */
+    public JsonWriter withDateFormat(String pattern) {
+        this.dateFormat = JsonDates.format(pattern);
+        return this;
+    }
+
+    JsonDates.Format getDateFormat() {
+        return dateFormat;
+    }
+
+    // ========== ÉCRITURE ==========
+
+    void writeByte(int b) throws IOException {
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    /**
+     * Octets bruts (nom pré-encodé...), copiés par morceaux si plus grands que le tampon
+     */
+    void writeBytes(byte[] bytes) throws IOException {
+        int length = bytes.length;
+        if (length <= buffer.length - count) {
+            System.arraycopy(bytes, 0, buffer, count, length);
+            count += length;
+            return;
+        }
+        int offset = 0;
+        while (offset < length) {
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+            int chunk = Math.min(length - offset, buffer.length - count);
+            System.arraycopy(bytes, offset, buffer, count, chunk);
+            count += chunk;
+            offset += chunk;
+        }
+    }
+
+    /**
+     * Texte ASCII sans échappement (nombres décimaux)
+     */
+    void writeAscii(String text) throws IOException {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+            int end = Math.min(length, i + buffer.length - count);
+            for (; i < end; i++) {
+                buffer[count++] = (byte) text.charAt(i);
+            }
+        }
+    }
+
+    /**
+     * Texte sans échappement (JSON déjà formé), encodé en UTF-8
+     */
+    void writeRaw(String text) throws IOException {
+        writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Chaîne JSON entre guillemets, échappée et encodée en UTF-8 sans chaîne intermédiaire
+     * (mêmes échappements qu'avant : " \ / \b \f \n \r \t, \\u00XX pour les autres caractères de contrôle)
+     */
+    void writeString(CharSequence text) throws IOException {
+        writeByte('"');
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            // Place pour un morceau entier, sans tester la fin du tampon à chaque caractère
+            if (buffer.length - count < MAX_CHAR_BYTES) {
+                flushBuffer();
+            }
+            int end = Math.min(length, i + (buffer.length - count) / MAX_CHAR_BYTES);
+            byte[] buf = buffer;
+            int pos = count;
+            for (; i < end; i++) {
+                char c = text.charAt(i);
+                if (c < 0x80) {
+                    if (c >= 0x20 && c != '"' && c != '\\' && c != '/') {
+                        // ASCII ordinaire : cas le plus fréquent
+                        buf[pos++] = (byte) c;
+                    } else {
+                        pos = escape(c, buf, pos);
+                    }
+                } else if (c < 0x800) {
+                    buf[pos++] = (byte) (0xC0 | (c >> 6));
+                    buf[pos++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    char next = i + 1 < length ? text.charAt(i + 1) : 0;
+                    if (Character.isHighSurrogate(c) && Character.isLowSurrogate(next)) {
+                        int cp = Character.toCodePoint(c, next);
+                        buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                        buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                        buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                        buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+                        // Peut dépasser end d'un caractère : 4 octets pour deux caractères, place suffisante
+                        i++;
+                    } else {
+                        // Surrogate isolé : '?' comme String.getBytes(UTF_8)
+                        buf[pos++] = '?';
+                    }
+                } else {
+                    buf[pos++] = (byte) (0xE0 | (c >> 12));
+                    buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            count = pos;
+        }
+        writeByte('"');
+    }
+
+    private static int escape(char c, byte[] buf, int pos) {
+        buf[pos++] = '\\';
+        switch (c) {
+            case '"': buf[pos++] = '"'; break;
+            case '\\': buf[pos++] = '\\'; break;
+            case '/': buf[pos++] = '/'; break;
+            case '\b': buf[pos++] = 'b'; break;
+            case '\f': buf[pos++] = 'f'; break;
+            case '\n': buf[pos++] = 'n'; break;
+            case '\r': buf[pos++] = 'r'; break;
+            case '\t': buf[pos++] = 't'; break;
+            default:
+                buf[pos++] = 'u';
+                buf[pos++] = '0';
+                buf[pos++] = '0';
+                buf[pos++] = HEX[(c >> 4) & 0xF];
+                buf[pos++] = HEX[c & 0xF];
+        }
+        return pos;
+    }
+
+    /**
+     * Entier écrit chiffre par chiffre, sans String.valueOf
+     */
+    void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeBytes(MIN_LONG);
+            return;
+        }
+        // 19 chiffres + signe au maximum
+        if (buffer.length - count < 20) {
+            flushBuffer();
+        }
+        if (value < 0) {
+            buffer[count++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int pos = count + digits;
+        count = pos;
+        do {
+            buffer[--pos] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+    }
+
+    void writeInt(int value) throws IOException {
+        writeLong(value);
+    }
+
+    /**
+     * Entier positif sur width chiffres, complété par des zéros à gauche (champs de date)
+     */
+    void writeDigits(int value, int width) throws IOException {
+        if (buffer.length - count < width) {
+            flushBuffer();
+        }
+        int pos = count + width;
+        count = pos;
+        for (int i = 0; i < width; i++) {
+            buffer[--pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Envoie le contenu du tampon dans le flux
+     */
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+        flushed = true;
+    }
+
+    /**
+     * Vide le tampon puis le flux
+     */
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    /**
+     * Fin de la sérialisation : taille à onSmallBody si rien n'a encore été envoyé,
+     * puis vidage du tampon et du flux
+     */
+    public void finish() throws IOException {
+        if (!flushed && onSmallBody != null) {
+            onSmallBody.accept(count);
+        }
+        flush();
+    }
+
+    /**
+     * Rend le tampon au pool, sans rien écrire (le flux n'est pas fermé) :
+     * appeler finish() avant, en cas de succès
+     */
+    @Override
+    public void close() {
+        if (buffer == null) {
+            return;
+        }
+        POOL.offer(buffer);
+        buffer = null;
+    }
+}
@@ -0,0 +1,401 @@
+package etu.sprint.framework;
+
+import java.time.LocalDate;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Map des paramètres d'une requête, passée aux paramètres de contrôleur de type Map
+ *
+ * Vue paresseuse sur la requête : une valeur n'est lue et convertie
+ * (Integer / Double / Boolean / String, comme avant) qu'au moment où elle
+ * est demandée, puis mise en cache. Un contrôleur qui lit 3 clés sur 50
+ * ne paie que ces 3 conversions.
+ *
+ * Mêmes clés et même priorité que l'ancienne HashMap construite à chaque requête :
+ * paramètres < attributs de requête < "request", "session", "contextPath"
+ * < données multipart ("parameters", "files") < "hasFiles", "uploadedFiles".
+ *
+ * Une modification (put, remove...) ou un parcours (entrySet, size, toString)
+ * copie d'abord le contenu complet dans une HashMap, utilisée ensuite.
+ *
+ * Accesseurs typés, sans exception pour une valeur invalide :
+ *   int age = params.getInt("age", 0);
+ *   LocalDate from = params.getLocalDate("from");
+ */
+public class LazyRequestMap extends AbstractMap<String, Object> {
+
+    // Valeur absente, mise en cache
+    private static final Object NONE = new Object();
+
+    private final HttpServletRequest request;
+    private final Map<String, Object> multipartData;
+
+    // Valeurs déjà résolues (mode paresseux)
+    private final Map<String, Object> resolved = new HashMap<>();
+
+    // Contenu complet, après la première modification ou le premier parcours
+    private Map<String, Object> materialized;
+
+    public LazyRequestMap(HttpServletRequest request, Map<String, Object> multipartData) {
+        this.request = request;
+        this.multipartData = multipartData;
+    }
+
+    // ========== LECTURE PARESSEUSE ==========
+
+    @Override
+    public Object get(Object key) {
+        if (materialized != null) {
+            return materialized.get(key);
+        }
+        if (!(key instanceof String)) {
+            return null;
+        }
+        Object value = resolve((String) key);
+        return value != NONE ? value : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (materialized != null) {
+            return materialized.containsKey(key);
+        }
+        return key instanceof String && resolve((String) key) != NONE;
+    }
+
+    private Object resolve(String key) {
+        Object value = resolved.get(key);
+        if (value == null && !resolved.containsKey(key)) {
+            value = lookup(key);
+            resolved.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Recherche d'une clé, de la source la plus prioritaire à la moins prioritaire
+     */
+    private Object lookup(String key) {
+        Object fixed = fixedValue(key);
+        if (fixed != NONE) {
+            return fixed;
+        }
+
+        Object attribute = request.getAttribute(key);
+        if (attribute != null) {
+            return attribute;
+        }
+
+        String[] values = request.getParameterValues(key);
+        if (values == null) {
+            return NONE;
+        }
+        // Si un seul paramètre, valeur convertie, sinon tableau
+        return values.length == 1 ? inferValue(values[0]) : values;
+    }
+
+    /**
+     * Clés ajoutées par le framework (prioritaires sur paramètres et attributs)
+     */
+    private Object fixedValue(String key) {
+        switch (key) {
+            case "hasFiles":
+                return multipartData != null;
+            case "uploadedFiles": {
+                Map<String, byte[]> files = uploadedFiles();
+                if (files != null && !files.isEmpty()) {
+                    return files.keySet();
+                }
+                break;
+            }
+            default:
+                break;
+        }
+        if (multipartData != null && multipartData.containsKey(key)) {
+            return multipartData.get(key);
+        }
+        switch (key) {
+            case "request":
+                return request;
+            case "session":
+                return request.getSession(false);
+            case "contextPath":
+                return request.getContextPath();
+            default:
+                return NONE;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, byte[]> uploadedFiles() {
+        return multipartData != null ? (Map<String, byte[]>) multipartData.get("files") : null;
+    }
+
+    /**
+     * Valeur texte d'un paramètre simple, si la clé n'est pas masquée par une autre source
+     * (lecture directe pour les accesseurs typés, sans passer par la conversion automatique)
+     */
+    private String rawParameter(String key) {
+        if (materialized != null || resolved.containsKey(key)
+                || fixedValue(key) != NONE || request.getAttribute(key) != null) {
+            return null;
+        }
+        String[] values = request.getParameterValues(key);
+        return values != null && values.length == 1 ? values[0] : null;
+    }
+
+    // ========== CONVERSION AUTOMATIQUE ==========
+
+    /**
+     * Convertit une valeur de paramètre String en type approprié
+     * (entier → Integer, décimal → Double, true/false → Boolean, sinon String)
+     */
+    static Object inferValue(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+
+        if (isPlainNumber(value, false)) {
+            Object integer = ConverterRegistry.parseIntegral(value, Integer.MIN_VALUE, Integer.MAX_VALUE,
+                                                             n -> (int) n);
+            if (integer != TypeConverter.INVALID) {
+                return integer;
+            }
+        }
+        if (isPlainNumber(value, true)) {
+            return Double.parseDouble(value);
+        }
+        if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+            return Boolean.parseBoolean(value);
+        }
+        return value;
+    }
+
+    /**
+     * -?chiffres, ou -?chiffres(.chiffres)? si allowFraction
+     */
+    private static boolean isPlainNumber(String value, boolean allowFraction) {
+        int length = value.length();
+        int i = value.charAt(0) == '-' ? 1 : 0;
+        int start = i;
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
+        }
+        if (i == start) {
+            return false;
+        }
+        if (allowFraction && i < length && value.charAt(i) == '.') {
+            int fraction = ++i;
+            while (i < length && isDigit(value.charAt(i))) {
+                i++;
+            }
+            if (i == fraction) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // ========== ACCESSEURS TYPÉS ==========
+
+    /**
+     * Valeur convertie vers un type objet (ConverterRegistry), ou null si absente ou invalide
+     */
+    public <T> T get(String key, Class<T> type) {
+        return type.cast(convert(key, type, ""));
+    }
+
+    public Integer getInt(String key) {
+        return (Integer) convert(key, Integer.class, "");
+    }
+
+    public int getInt(String key, int defaultValue) {
+        Integer value = getInt(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public Long getLong(String key) {
+        return (Long) convert(key, Long.class, "");
+    }
+
+    public long getLong(String key, long defaultValue) {
+        Long value = getLong(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public Double getDouble(String key) {
+        return (Double) convert(key, Double.class, "");
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        Double value = getDouble(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public Boolean getBoolean(String key) {
+        return (Boolean) convert(key, Boolean.class, "");
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Boolean value = getBoolean(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public String getString(String key) {
+        Object value = get(key);
+        if (value instanceof String[]) {
+            String[] values = (String[]) value;
+            return values.length > 0 ? values[0] : null;
+        }
+        return value != null ? value.toString() : null;
+    }
+
+    public String getString(String key, String defaultValue) {
+        String value = getString(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Date ISO (yyyy-MM-dd)
+     */
+    public LocalDate getLocalDate(String key) {
+        return (LocalDate) convert(key, LocalDate.class, "");
+    }
+
+    /**
+     * Date au format donné (ex: "dd/MM/yyyy")
+     */
+    public LocalDate getLocalDate(String key, String pattern) {
+        return (LocalDate) convert(key, LocalDate.class, pattern);
+    }
+
+    private Object convert(String key, Class<?> type, String dateFormat) {
+        String text = rawParameter(key);
+        if (text == null) {
+            Object value = get(key);
+            if (value == null || type.isInstance(value)) {
+                return value;
+            }
+            if (value instanceof String[]) {
+                String[] values = (String[]) value;
+                value = values.length > 0 ? values[0] : null;
+            }
+            if (value instanceof Number && Number.class.isAssignableFrom(type)) {
+                return ParamHandler.convertPathValue(value, type);
+            }
+            text = value != null ? value.toString() : null;
+        }
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        TypeConverter converter = ConverterRegistry.lookup(type, dateFormat);
+        Object converted = converter != null ? converter.convert(text) : TypeConverter.INVALID;
+        return converted != TypeConverter.INVALID ? converted : null;
+    }
+
+    // ========== VUE COMPLÈTE ==========
+
+    /**
+     * Copie complète (même contenu que l'ancien createRequestMap + données multipart)
+     */
+    private Map<String, Object> materialize() {
+        if (materialized != null) {
+            return materialized;
+        }
+        Map<String, Object> map = new HashMap<>();
+
+        // 1. Paramètres de la requête (GET/POST)
+        Enumeration<String> paramNames = request.getParameterNames();
+        while (paramNames.hasMoreElements()) {
+            String paramName = paramNames.nextElement();
+            Object cached = resolved.get(paramName);
+            if (cached != null && cached != NONE) {
+                map.put(paramName, cached);
+                continue;
+            }
+            String[] values = request.getParameterValues(paramName);
+            map.put(paramName, values != null && values.length == 1 ? inferValue(values[0]) : values);
+        }
+
+        // 2. Attributs de la requête
+        Enumeration<String> attrNames = request.getAttributeNames();
+        while (attrNames.hasMoreElements()) {
+            String attrName = attrNames.nextElement();
+            map.put(attrName, request.getAttribute(attrName));
+        }
+
+        // 3. Informations de la requête
+        map.put("request", request);
+        map.put("session", request.getSession(false));
+        map.put("contextPath", request.getContextPath());
+
+        // 4. Données multipart
+        if (multipartData != null) {
+            map.putAll(multipartData);
+            map.put("hasFiles", true);
+            Map<String, byte[]> files = uploadedFiles();
+            if (files != null && !files.isEmpty()) {
+                map.put("uploadedFiles", files.keySet());
+            }
+        } else {
+            map.put("hasFiles", false);
+        }
+
+        materialized = map;
+        resolved.clear();
+        return map;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return materialize().entrySet();
+    }
+
+    @Override
+    public int size() {
+        return materialize().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return materialize().isEmpty();
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return materialize().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return materialize().remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        materialize().putAll(m);
+    }
+
+    @Override
+    public void clear() {
+        materialize().clear();
+    }
+
+    /**
+     * Vue non modifiable du contenu complet
+     */
+    public Map<String, Object> toMap() {
+        return Collections.unmodifiableMap(materialize());
+    }
+}
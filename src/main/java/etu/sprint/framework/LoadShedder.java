@@ -0,0 +1,244 @@
+package etu.sprint.framework;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import etu.sprint.framework.annotation.Priority;
+
+/**
+ * Délestage global par priorité, à partir du temps d'attente des requêtes (style CoDel)
+ *
+ * Comme CoDel, on regarde le délai MINIMAL observé sur chaque intervalle (100 ms) :
+ * une file qui se vide de temps en temps a un minimum bas, même avec des pics.
+ * Si ce minimum dépasse la cible (5 ms), le serveur est en surcharge et le niveau
+ * de délestage monte d'un cran à chaque intervalle, sinon il retombe à 0.
+ * Niveau ≥ 1 : routes LOW refusées ; ≥ 2 : NORMAL ; ≥ 4 : HIGH ; CRITICAL jamais.
+ * Une requête qui n'a pas attendu (délai connu < cible) n'est pas refusée.
+ *
+ * Délai d'attente mesuré :
+ * - avec l'en-tête X-Request-Start posé par le proxy (nginx "t=${msec}", ms ou µs) :
+ *   attente réelle avant le servlet, mesurée avant l'appel du contrôleur ;
+ * - sinon : durée de traitement moins la durée habituelle de la route
+ *   (l'attente de threads, connexions, CPU se retrouve dans cet excédent).
+ *   Durée habituelle : moyenne des 16 premières requêtes, puis moyenne mobile
+ *   (1/16 par requête). Une requête isolée très rapide (erreur, cache) ne fait
+ *   donc pas paraître toutes les autres en attente, comme le ferait un minimum
+ *   absolu. Pendant le délestage, la moyenne n'avance plus que de 1/256 : la
+ *   surcharge n'est pas absorbée dans la référence, mais une route durablement
+ *   plus lente finit par devenir la nouvelle référence.
+ *
+ * Tout est sans verrou : minimum et moyennes par CAS, un seul thread clôt chaque intervalle.
+ */
+public class LoadShedder {
+
+    private static final int MAX_LEVEL = 8;
+
+    private static final Priority.Level[] LEVELS = Priority.Level.values();
+
+    // Mode sans en-tête : requêtes de mise en route, puis poids de chaque requête (1/2^n)
+    private static final int WARMUP_SAMPLES = 16;
+    private static final int SHIFT = 4;
+    private static final int OVERLOADED_SHIFT = 8;
+
+    private final long targetNanos;
+    private final long intervalNanos;
+
+    private final AtomicLong intervalStart = new AtomicLong(System.nanoTime());
+    private final AtomicLong intervalMin = new AtomicLong(Long.MAX_VALUE);
+    private volatile int level;
+    private volatile long lastMinNanos;
+
+    // Durée de traitement habituelle par route (mode sans en-tête)
+    private final Map<RouteMapping, Baseline> baselines = new ConcurrentHashMap<>();
+
+    private final LongAdder[] shed = new LongAdder[LEVELS.length];
+
+    /**
+     * @param targetMillis délai d'attente acceptable (CoDel : 5 ms)
+     * @param intervalMillis fenêtre d'observation du minimum (CoDel : 100 ms)
+     */
+    public LoadShedder(long targetMillis, long intervalMillis) {
+        this.targetNanos = Math.max(1, targetMillis) * 1_000_000L;
+        this.intervalNanos = Math.max(1, intervalMillis) * 1_000_000L;
+        for (int i = 0; i < shed.length; i++) {
+            shed[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Décide si la requête doit être refusée
+     *
+     * @param queueDelayNanos délai d'attente de la requête, ou -1 si inconnu
+     */
+    public boolean shouldShed(Priority.Level priority, long queueDelayNanos) {
+        int current = level;
+        if (current == 0 || priority == Priority.Level.CRITICAL) {
+            return false;
+        }
+        if (current < threshold(priority)) {
+            return false;
+        }
+        // Aucune mesure depuis deux intervalles (tout est refusé, ou plus de trafic) : niveau périmé
+        if (System.nanoTime() - intervalStart.get() >= 2 * intervalNanos) {
+            return false;
+        }
+        if (queueDelayNanos >= 0 && queueDelayNanos < targetNanos) {
+            return false;
+        }
+        shed[priority.ordinal()].increment();
+        return true;
+    }
+
+    private static int threshold(Priority.Level priority) {
+        switch (priority) {
+            case LOW: return 1;
+            case NORMAL: return 2;
+            case HIGH: return 4;
+            default: return Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Délai d'attente mesuré par l'en-tête du proxy
+     */
+    public void recordQueueDelay(long delayNanos) {
+        record(Math.max(0, delayNanos));
+    }
+
+    /**
+     * Durée de traitement habituelle d'une route
+     */
+    private static final class Baseline {
+        final AtomicLong mean = new AtomicLong();
+        final AtomicInteger samples = new AtomicInteger();
+    }
+
+    /**
+     * Durée de traitement d'une route (mode sans en-tête) : seul l'excédent
+     * par rapport à la durée habituelle de la route compte comme attente
+     */
+    public void recordLatency(RouteMapping route, long latencyNanos) {
+        Baseline baseline = baselines.computeIfAbsent(route, r -> new Baseline());
+        int samples = baseline.samples.get();
+        boolean warmingUp = samples < WARMUP_SAMPLES;
+        if (warmingUp) {
+            samples = baseline.samples.incrementAndGet();
+        }
+        int shift = level == 0 ? SHIFT : OVERLOADED_SHIFT;
+
+        long mean;
+        long next;
+        do {
+            mean = baseline.mean.get();
+            long delta = latencyNanos - mean;
+            next = warmingUp ? mean + delta / samples : mean + (delta >> shift);
+        } while (!baseline.mean.compareAndSet(mean, next));
+
+        // Référence pas encore établie : la route ne compte pas
+        if (!warmingUp) {
+            record(Math.max(0, latencyNanos - mean));
+        }
+    }
+
+    private void record(long delayNanos) {
+        long min = intervalMin.get();
+        while (delayNanos < min && !intervalMin.compareAndSet(min, delayNanos)) {
+            min = intervalMin.get();
+        }
+
+        long now = System.nanoTime();
+        long start = intervalStart.get();
+        if (now - start >= intervalNanos && intervalStart.compareAndSet(start, now)) {
+            long observed = intervalMin.getAndSet(Long.MAX_VALUE);
+            lastMinNanos = observed == Long.MAX_VALUE ? 0 : observed;
+            if (observed != Long.MAX_VALUE && observed > targetNanos) {
+                level = Math.min(MAX_LEVEL, level + 1);
+            } else {
+                level = 0;
+            }
+        }
+    }
+
+    /**
+     * Délai d'attente tiré d'un en-tête X-Request-Start
+     * ("t=1700000000.123" en secondes, "1700000000123" en ms, "1700000000123456" en µs)
+     *
+     * @return le délai en nanosecondes, ou -1 si l'en-tête est absent ou illisible
+     */
+    public static long parseQueueDelay(String header, long nowMillis) {
+        if (header == null) {
+            return -1;
+        }
+        int i = header.startsWith("t=") ? 2 : 0;
+        long integral = 0;
+        int digits = 0;
+        for (; i < header.length() && Character.isDigit(header.charAt(i)); i++, digits++) {
+            if (digits == 18) {
+                return -1;
+            }
+            integral = integral * 10 + (header.charAt(i) - '0');
+        }
+        if (digits == 0) {
+            return -1;
+        }
+
+        long startMicros;
+        if (i < header.length() && header.charAt(i) == '.') {
+            // Secondes avec fraction
+            long fraction = 0;
+            int scale = 0;
+            for (i++; i < header.length() && Character.isDigit(header.charAt(i)) && scale < 6; i++, scale++) {
+                fraction = fraction * 10 + (header.charAt(i) - '0');
+            }
+            for (; scale < 6; scale++) {
+                fraction *= 10;
+            }
+            startMicros = integral * 1_000_000L + fraction;
+        } else if (digits >= 16) {
+            startMicros = integral;
+        } else if (digits >= 13) {
+            startMicros = integral * 1000L;
+        } else {
+            startMicros = integral * 1_000_000L;
+        }
+
+        // Horloges du proxy et du serveur légèrement décalées : jamais négatif
+        return Math.max(0, nowMillis * 1000L - startMicros) * 1000L;
+    }
+
+    // ========== STATISTIQUES ==========
+
+    /**
+     * Niveau de délestage courant (0 = pas de surcharge)
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Délai d'attente minimal du dernier intervalle clos, en ms
+     */
+    public double getLastMinDelayMillis() {
+        return lastMinNanos / 1_000_000.0;
+    }
+
+    public long getShedCount(Priority.Level priority) {
+        return shed[priority.ordinal()].sum();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("LoadShedder[level=").append(level)
+                .append(", minDelay=").append(String.format("%.2f", getLastMinDelayMillis())).append(" ms, shed={");
+        for (Priority.Level priority : LEVELS) {
+            if (priority != LEVELS[0]) {
+                sb.append(", ");
+            }
+            sb.append(priority).append('=').append(getShedCount(priority));
+        }
+        return sb.append("}]").toString();
+    }
+}
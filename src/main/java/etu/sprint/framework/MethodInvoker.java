@@ -0,0 +1,157 @@
+package etu.sprint.framework;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Invocation d'une méthode de contrôleur, préparée une seule fois par route
+ *
+ * Méthode d'instance non void avec au plus 6 paramètres (cas courant) : une petite classe
+ * est générée par route (LambdaMetafactory) qui implémente CallN et appelle
+ * directement la méthode du contrôleur (invokevirtual, déballage des primitives
+ * compris). Ce site d'appel est constant : le JIT peut y intégrer (inline) le
+ * corps du contrôleur. L'appel depuis invoke() reste un appel d'interface.
+ *
+ * Autres cas (méthode statique ou void, plus de 6 paramètres, échec de génération) :
+ * MethodHandle adapté à la forme (Object cible, Object[] args) → Object.
+ * Il est lu dans un champ non constant et exécuté par ses LambdaForms,
+ * sans inlining jusqu'au contrôleur, mais sans contrôle d'accès réflexif à chaque appel.
+ *
+ * Contrairement à Method.invoke(), une exception levée par le contrôleur
+ * est propagée telle quelle (pas d'InvocationTargetException).
+ */
+public final class MethodInvoker {
+
+    private static final MethodType INVOKER_TYPE =
+            MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    // Appels directs générés, par nombre de paramètres.
+    // Publics : la classe générée est définie dans le paquetage du contrôleur.
+    @FunctionalInterface
+    public interface Call0 { Object call(Object target) throws Throwable; }
+    @FunctionalInterface
+    public interface Call1 { Object call(Object target, Object a) throws Throwable; }
+    @FunctionalInterface
+    public interface Call2 { Object call(Object target, Object a, Object b) throws Throwable; }
+    @FunctionalInterface
+    public interface Call3 { Object call(Object target, Object a, Object b, Object c) throws Throwable; }
+    @FunctionalInterface
+    public interface Call4 { Object call(Object target, Object a, Object b, Object c, Object d) throws Throwable; }
+    @FunctionalInterface
+    public interface Call5 { Object call(Object target, Object a, Object b, Object c, Object d, Object e) throws Throwable; }
+    @FunctionalInterface
+    public interface Call6 {
+        Object call(Object target, Object a, Object b, Object c, Object d, Object e, Object f) throws Throwable;
+    }
+
+    private static final Class<?>[] CALLS = {
+        Call0.class, Call1.class, Call2.class, Call3.class, Call4.class, Call5.class, Call6.class
+    };
+
+    private final Method method;
+    // Appel généré (CallN), ou null : handle
+    private final Object call;
+    private final int arity;
+    private final MethodHandle handle;
+
+    private MethodInvoker(Method method, Object call, MethodHandle handle) {
+        this.method = method;
+        this.call = call;
+        this.arity = method.getParameterCount();
+        this.handle = handle;
+    }
+
+    /**
+     * Prépare l'invocation d'une méthode (publique ou non)
+     */
+    public static MethodInvoker of(Method method) {
+        try {
+            if (!Modifier.isPublic(method.getModifiers())
+                    || !Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+                method.setAccessible(true);
+            }
+            MethodHandle target = MethodHandles.lookup().unreflect(method);
+            int paramCount = method.getParameterCount();
+
+            if (Modifier.isStatic(method.getModifiers())) {
+                // La cible est ignorée pour une méthode statique
+                target = MethodHandles.dropArguments(target, 0, Object.class);
+            }
+
+            // (Cible, P1..Pn)R → (Object, Object..Object)Object → (Object, Object[])Object
+            MethodHandle generic = target.asType(MethodType.genericMethodType(paramCount + 1));
+            MethodHandle spread = generic.asSpreader(Object[].class, paramCount);
+            return new MethodInvoker(method, directCall(method), spread.asType(INVOKER_TYPE));
+
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Méthode inaccessible: " + method, e);
+        }
+    }
+
+    /**
+     * Classe générée implémentant CallN pour la méthode, ou null si non applicable
+     */
+    private static Object directCall(Method method) {
+        int paramCount = method.getParameterCount();
+        if (Modifier.isStatic(method.getModifiers()) || paramCount >= CALLS.length
+                || method.getReturnType() == void.class) {
+            // void : LambdaMetafactory ne convertit pas void en Object
+            return null;
+        }
+        try {
+            Class<?> owner = method.getDeclaringClass();
+            // Lookup dans la classe du contrôleur : classe générée dans son chargeur, accès aux méthodes non publiques
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+            MethodHandle implementation = lookup.unreflect(method);
+
+            Class<?> call = CALLS[paramCount];
+            MethodType erased = MethodType.genericMethodType(paramCount + 1);
+            // Types réels (primitifs en wrappers) : cast + déballage faits par la classe générée
+            MethodType instantiated = implementation.type().wrap().changeReturnType(Object.class);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "call", MethodType.methodType(call),
+                    erased, implementation, instantiated);
+            return site.getTarget().invoke();
+        } catch (Throwable e) {
+            System.err.println("[MethodInvoker] Appel direct indisponible pour " + method.getName()
+                    + " (" + e + "), MethodHandle utilisé");
+            return null;
+        }
+    }
+
+    /**
+     * Appelle la méthode sur le contrôleur
+     *
+     * @param target instance du contrôleur
+     * @param args arguments (déjà convertis ; null accepté pour les objets)
+     */
+    public Object invoke(Object target, Object[] args) throws Exception {
+        try {
+            if (call == null) {
+                return handle.invokeExact(target, args);
+            }
+            switch (arity) {
+                case 0: return ((Call0) call).call(target);
+                case 1: return ((Call1) call).call(target, args[0]);
+                case 2: return ((Call2) call).call(target, args[0], args[1]);
+                case 3: return ((Call3) call).call(target, args[0], args[1], args[2]);
+                case 4: return ((Call4) call).call(target, args[0], args[1], args[2], args[3]);
+                case 5: return ((Call5) call).call(target, args[0], args[1], args[2], args[3], args[4]);
+                default: return ((Call6) call).call(target, args[0], args[1], args[2], args[3], args[4], args[5]);
+            }
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+}
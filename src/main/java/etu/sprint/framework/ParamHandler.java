@@ -8,45 +8,61 @@ import java.lang.reflect.Parameter;
 
 public class ParamHandler {
 
-    // Convert string to Java type
+    // Convert string to Java type (convertisseurs de ConverterRegistry, sans exception)
+    // Type sans convertisseur : valeur par défaut (une String ferait échouer l'appel du contrôleur)
     public static Object convert(String v, Class<?> type) {
         if (v == null || v.isEmpty()) {
             return getDefaultValue(type);
         }
 
-        try {
-            if (type == int.class || type == Integer.class) return Integer.parseInt(v);
-            if (type == double.class || type == Double.class) return Double.parseDouble(v);
-            if (type == boolean.class || type == Boolean.class) return Boolean.parseBoolean(v);
-            if (type == long.class || type == Long.class) return Long.parseLong(v);
-            if (type == float.class || type == Float.class) return Float.parseFloat(v);
-            if (type == short.class || type == Short.class) return Short.parseShort(v);
-            if (type == byte.class || type == Byte.class) return Byte.parseByte(v);
-            
-            // SPRINT 8: Support pour les tableaux
-            if (type.isArray() && type.getComponentType() == String.class) {
-                return v.split(",");
-            }
-            
-            return v;
-        } catch (NumberFormatException e) {
+        TypeConverter converter = ConverterRegistry.lookup(type);
+        if (converter == null) {
             return getDefaultValue(type);
         }
+        Object converted = converter.convert(v);
+        return converted != TypeConverter.INVALID ? converted : getDefaultValue(type);
+    }
+
+    // Convertit une valeur extraite de l'URL (String, ou déjà typée via {id:int}, {uuid:uuid}...)
+    public static Object convertPathValue(Object v, Class<?> type) {
+        if (v == null || v instanceof String) {
+            return convert((String) v, type);
+        }
+
+        // Valeur déjà typée par la contrainte : pas de conversion
+        if (type.isInstance(v) || wrapperOf(type) == v.getClass()) {
+            return v;
+        }
+        if (type == String.class) {
+            return v.toString();
+        }
+        if (v instanceof Number) {
+            Number n = (Number) v;
+            if (type == int.class || type == Integer.class) return n.intValue();
+            if (type == long.class || type == Long.class) return n.longValue();
+            if (type == double.class || type == Double.class) return n.doubleValue();
+            if (type == float.class || type == Float.class) return n.floatValue();
+            if (type == short.class || type == Short.class) return n.shortValue();
+            if (type == byte.class || type == Byte.class) return n.byteValue();
+        }
+        return convert(v.toString(), type);
+    }
+
+    private static Class<?> wrapperOf(Class<?> type) {
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == double.class) return Double.class;
+        if (type == float.class) return Float.class;
+        if (type == boolean.class) return Boolean.class;
+        if (type == short.class) return Short.class;
+        if (type == byte.class) return Byte.class;
+        if (type == char.class) return Character.class;
+        return type;
     }
 
     // SPRINT 8: Méthode pour récupérer la valeur par défaut d'un type
     private static Object getDefaultValue(Class<?> type) {
-        if (type.isPrimitive()) {
-            if (type == int.class) return 0;
-            else if (type == double.class) return 0.0;
-            else if (type == boolean.class) return false;
-            else if (type == long.class) return 0L;
-            else if (type == float.class) return 0.0f;
-            else if (type == short.class) return (short)0;
-            else if (type == byte.class) return (byte)0;
-            else if (type == char.class) return '\0';
-        }
-        return null;
+        return ConverterRegistry.defaultValue(type);
     }
 
     // SPRINT 8: Nouvelle méthode pour gérer les paramètres de requête
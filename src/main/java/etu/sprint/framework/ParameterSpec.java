@@ -0,0 +1,141 @@
+package etu.sprint.framework;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Map;
+
+import etu.sprint.framework.annotation.DateFormat;
+import etu.sprint.framework.annotation.FileParam;
+import etu.sprint.framework.annotation.ModelAttribute;
+import etu.sprint.framework.annotation.RequestBody;
+import etu.sprint.framework.annotation.RequestParam;
+
+/**
+ * Description d'un paramètre de méthode de contrôleur, calculée une seule fois
+ * à l'enregistrement de la route (au lieu de relire les annotations à chaque requête)
+ *
+ * Même ordre de priorité que buildMethodArguments() :
+ * @FileParam > @ModelAttribute > @RequestBody > Map > @RequestParam > valeur de l'URL > défaut
+ */
+public class ParameterSpec {
+
+    public enum Kind {
+        FILE,             // @FileParam("photo") byte[]
+        MODEL_ATTRIBUTE,  // @ModelAttribute User / Map / List / tableau
+        REQUEST_BODY,     // @RequestBody Commande (corps JSON)
+        REQUEST_MAP,      // Map<String, Object> (reçoit tout)
+        REQUEST_PARAM,    // @RequestParam("age") int
+        PATH_VARIABLE,    // int id ← /user/{id}
+        DEFAULT           // aucune source : valeur par défaut du type
+    }
+
+    private final Kind kind;
+    private final Class<?> type;
+    private final String name;
+    private final int pathIndex;
+    private final String dateFormat;
+
+    public ParameterSpec(Kind kind, Class<?> type, String name, int pathIndex) {
+        this(kind, type, name, pathIndex, "");
+    }
+
+    public ParameterSpec(Kind kind, Class<?> type, String name, int pathIndex, String dateFormat) {
+        this.kind = kind;
+        this.type = type;
+        this.name = name;
+        this.pathIndex = pathIndex;
+        this.dateFormat = dateFormat;
+    }
+
+    /**
+     * Analyse les paramètres d'une méthode de contrôleur
+     *
+     * @param pathVariables nombre de valeurs extraites de l'URL par le pattern
+     */
+    public static ParameterSpec[] fromMethod(Method method, int pathVariables) {
+        Parameter[] parameters = method.getParameters();
+        ParameterSpec[] specs = new ParameterSpec[parameters.length];
+        int pathIndex = 0;
+
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter param = parameters[i];
+            Class<?> type = param.getType();
+
+            if (param.isAnnotationPresent(FileParam.class)) {
+                specs[i] = new ParameterSpec(Kind.FILE, type, param.getAnnotation(FileParam.class).value(), -1);
+            } else if (param.isAnnotationPresent(ModelAttribute.class)) {
+                specs[i] = new ParameterSpec(Kind.MODEL_ATTRIBUTE, type,
+                                             param.getAnnotation(ModelAttribute.class).value(), -1);
+            } else if (param.isAnnotationPresent(RequestBody.class)) {
+                specs[i] = new ParameterSpec(Kind.REQUEST_BODY, type, "", -1);
+            } else if (Map.class.isAssignableFrom(type)) {
+                specs[i] = new ParameterSpec(Kind.REQUEST_MAP, type, "", -1);
+            } else if (param.isAnnotationPresent(RequestParam.class)) {
+                specs[i] = new ParameterSpec(Kind.REQUEST_PARAM, type,
+                                             param.getAnnotation(RequestParam.class).value(), -1,
+                                             dateFormatOf(param));
+            } else if (pathIndex < pathVariables) {
+                specs[i] = new ParameterSpec(Kind.PATH_VARIABLE, type, "", pathIndex++, dateFormatOf(param));
+            } else {
+                specs[i] = new ParameterSpec(Kind.DEFAULT, type, "", -1);
+            }
+        }
+        return specs;
+    }
+
+    private static String dateFormatOf(Parameter param) {
+        DateFormat format = param.getAnnotation(DateFormat.class);
+        return format != null ? format.value() : "";
+    }
+
+    // ========== GETTERS ==========
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Nom du paramètre de requête / fichier / attribut ("" si sans objet)
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Index de la valeur extraite de l'URL (PATH_VARIABLE uniquement, sinon -1)
+     */
+    public int getPathIndex() {
+        return pathIndex;
+    }
+
+    /**
+     * Pattern @DateFormat ("" si aucun)
+     */
+    public String getDateFormat() {
+        return dateFormat;
+    }
+
+    @Override
+    public String toString() {
+        String typeName = type.getSimpleName();
+        switch (kind) {
+            case FILE:
+                return "@FileParam(\"" + name + "\") " + typeName;
+            case MODEL_ATTRIBUTE:
+                return name.isEmpty() ? "@ModelAttribute " + typeName
+                                      : "@ModelAttribute(\"" + name + "\") " + typeName;
+            case REQUEST_BODY:
+                return "@RequestBody " + typeName;
+            case REQUEST_MAP:
+                return "Map<String, Object>";
+            case REQUEST_PARAM:
+                return "@RequestParam(\"" + name + "\") " + typeName;
+            default:
+                return typeName;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package etu.sprint.framework;
+
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Contrainte typée d'un segment dynamique d'URL
+ *
+ * Syntaxe dans @MyUrl :
+ * - {id}               : n'importe quel segment non vide (String)
+ * - {id:int}           : entier 32 bits (Integer)
+ * - {id:long}          : entier 64 bits (Long)
+ * - {uuid:uuid}        : UUID au format 8-4-4-4-12 (UUID)
+ * - {slug:[a-z-]+}     : expression régulière (String)
+ *
+ * La valeur est lue directement dans le chemin de la requête (entre start et end),
+ * sans créer de String intermédiaire pour les types numériques et UUID.
+ * Une valeur invalide retourne NO_MATCH (pas d'exception) : la recherche passe
+ * simplement à la route suivante, ou 404.
+ */
+public abstract class PathConstraint {
+
+    /**
+     * Valeur retournée par parse() quand le segment ne respecte pas la contrainte
+     */
+    public static final Object NO_MATCH = new Object();
+
+    public static final PathConstraint ANY = new AnyConstraint();
+
+    /**
+     * Lit la valeur du segment path[start, end)
+     *
+     * @return la valeur convertie, ou NO_MATCH
+     */
+    public abstract Object parse(String path, int start, int end);
+
+    /**
+     * Identifiant de la contrainte (deux segments {a:int} et {b:int} sont équivalents)
+     */
+    public abstract String key();
+
+    /**
+     * Expression régulière équivalente (pour les segments mixtes ex: "file-{id:int}.txt")
+     */
+    public abstract String regex();
+
+    /**
+     * Crée la contrainte à partir de la partie après ':' (null ou vide = ANY)
+     */
+    public static PathConstraint of(String spec) {
+        if (spec == null || spec.isEmpty()) {
+            return ANY;
+        }
+        switch (spec) {
+            case "int":
+                return new IntConstraint();
+            case "long":
+                return new LongConstraint();
+            case "uuid":
+                return new UuidConstraint();
+            default:
+                return new RegexConstraint(spec);
+        }
+    }
+
+    // ========== IMPLÉMENTATIONS ==========
+
+    private static class AnyConstraint extends PathConstraint {
+        @Override
+        public Object parse(String path, int start, int end) {
+            return start < end ? path.substring(start, end) : NO_MATCH;
+        }
+
+        @Override
+        public String key() {
+            return "";
+        }
+
+        @Override
+        public String regex() {
+            return "[^/]+";
+        }
+    }
+
+    private static class IntConstraint extends PathConstraint {
+        @Override
+        public Object parse(String path, int start, int end) {
+            long value = parseLong(path, start, end, 10);
+            if (value == Long.MIN_VALUE || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                return NO_MATCH;
+            }
+            return (int) value;
+        }
+
+        @Override
+        public String key() {
+            return "int";
+        }
+
+        @Override
+        public String regex() {
+            return "-?\\d{1,10}";
+        }
+    }
+
+    private static class LongConstraint extends PathConstraint {
+        @Override
+        public Object parse(String path, int start, int end) {
+            long value = parseLong(path, start, end, 19);
+            // Long.MIN_VALUE sert de marqueur d'échec (valeur elle-même non acceptée)
+            return value == Long.MIN_VALUE ? NO_MATCH : (Object) value;
+        }
+
+        @Override
+        public String key() {
+            return "long";
+        }
+
+        @Override
+        public String regex() {
+            return "-?\\d{1,19}";
+        }
+    }
+
+    private static class UuidConstraint extends PathConstraint {
+        @Override
+        public Object parse(String path, int start, int end) {
+            if (end - start != 36) {
+                return NO_MATCH;
+            }
+            long msb = 0;
+            long lsb = 0;
+            int digits = 0;
+            for (int i = start; i < end; i++) {
+                char c = path.charAt(i);
+                int pos = i - start;
+                if (pos == 8 || pos == 13 || pos == 18 || pos == 23) {
+                    if (c != '-') {
+                        return NO_MATCH;
+                    }
+                    continue;
+                }
+                int hex = hexDigit(c);
+                if (hex < 0) {
+                    return NO_MATCH;
+                }
+                if (digits < 16) {
+                    msb = (msb << 4) | hex;
+                } else {
+                    lsb = (lsb << 4) | hex;
+                }
+                digits++;
+            }
+            return new UUID(msb, lsb);
+        }
+
+        /**
+         * Chiffre hexadécimal ASCII [0-9a-fA-F] seulement, comme regex()
+         * (Character.digit accepte aussi les chiffres pleine chasse, arabes...)
+         */
+        private static int hexDigit(char c) {
+            if (c >= '0' && c <= '9') {
+                return c - '0';
+            }
+            if (c >= 'a' && c <= 'f') {
+                return c - 'a' + 10;
+            }
+            if (c >= 'A' && c <= 'F') {
+                return c - 'A' + 10;
+            }
+            return -1;
+        }
+
+        @Override
+        public String key() {
+            return "uuid";
+        }
+
+        @Override
+        public String regex() {
+            return "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}";
+        }
+    }
+
+    private static class RegexConstraint extends PathConstraint {
+        private final String spec;
+        private final Pattern pattern;
+
+        RegexConstraint(String spec) {
+            this.spec = spec;
+            this.pattern = Pattern.compile(spec);
+        }
+
+        @Override
+        public Object parse(String path, int start, int end) {
+            if (start == end || !pattern.matcher(path).region(start, end).matches()) {
+                return NO_MATCH;
+            }
+            return path.substring(start, end);
+        }
+
+        @Override
+        public String key() {
+            return "re:" + spec;
+        }
+
+        @Override
+        public String regex() {
+            return spec;
+        }
+    }
+
+    /**
+     * Parse un entier décimal signé dans path[start, end), sans exception
+     *
+     * @return la valeur, ou Long.MIN_VALUE si invalide ou trop de chiffres
+     */
+    private static long parseLong(String path, int start, int end, int maxDigits) {
+        if (start >= end) {
+            return Long.MIN_VALUE;
+        }
+        boolean negative = path.charAt(start) == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end || end - i > maxDigits) {
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = path.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.MIN_VALUE;
+            }
+            // Accumulation en négatif pour couvrir toute la plage
+            if (value < (Long.MIN_VALUE + digit) / 10) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 - digit;
+        }
+        if (negative) {
+            return value;
+        }
+        return value == Long.MIN_VALUE ? Long.MIN_VALUE : -value;
+    }
+}
@@ -0,0 +1,219 @@
+package etu.sprint.framework;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Matcher compilé d'un pattern d'URL (ex: "/user/{id:int}/update")
+ *
+ * Le pattern est découpé une seule fois en segments (séparés par '/') :
+ * - LITERAL  : texte exact (ex: "user")
+ * - VARIABLE : segment entier dynamique (ex: "{id}", "{id:int}"), avec sa PathConstraint
+ * - REGEX    : segment mixte (ex: "file-{name}.txt"), compilé en regex
+ *
+ * Ce découpage est utilisé par RouteIndex pour construire le trie des routes,
+ * au lieu de recompiler une regex à chaque requête.
+ */
+public class PathPattern {
+
+    public static final int LITERAL = 0;
+    public static final int VARIABLE = 1;
+    public static final int REGEX = 2;
+
+    private final String pattern;
+    private final String[] segments;
+    private final int[] segmentTypes;
+    private final PathConstraint[] constraints;
+    private final Pattern[] segmentRegex;
+    // Segments REGEX : numéro du groupe de chaque placeholder (la contrainte peut avoir ses propres groupes)
+    private final int[][] segmentGroups;
+    private final int variableCount;
+    private final int constrainedCount;
+
+    public PathPattern(String pattern) {
+        this.pattern = pattern;
+        this.segments = split(pattern);
+        this.segmentTypes = new int[segments.length];
+        this.constraints = new PathConstraint[segments.length];
+        this.segmentRegex = new Pattern[segments.length];
+        this.segmentGroups = new int[segments.length][];
+
+        int count = 0;
+        int constrained = 0;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            List<String[]> placeholders = new ArrayList<>();
+            List<Integer> groups = new ArrayList<>();
+            String regex = parseSegment(segment, placeholders, groups);
+
+            if (placeholders.isEmpty()) {
+                segmentTypes[i] = LITERAL;
+            } else if (placeholders.size() == 1 && placeholders.get(0)[2].equals(segment)) {
+                segmentTypes[i] = VARIABLE;
+                constraints[i] = PathConstraint.of(placeholders.get(0)[1]);
+                count++;
+                if (constraints[i] != PathConstraint.ANY) {
+                    constrained++;
+                }
+            } else {
+                segmentTypes[i] = REGEX;
+                segmentRegex[i] = Pattern.compile(regex);
+                segmentGroups[i] = groups.stream().mapToInt(Integer::intValue).toArray();
+                count += placeholders.size();
+                constrained++;
+            }
+        }
+        this.variableCount = count;
+        this.constrainedCount = constrained;
+    }
+
+    /**
+     * Analyse un segment et ses placeholders {nom} ou {nom:contrainte}
+     * Les accolades imbriquées de la contrainte sont supportées (ex: "{code:[0-9]{3}}")
+     *
+     * @param placeholders reçoit [nom, contrainte, texte complet] pour chaque placeholder
+     * @param groups reçoit le numéro de groupe de chaque placeholder dans la regex
+     * @return la regex équivalente du segment (un groupe par placeholder, plus ceux des contraintes)
+     */
+    private static String parseSegment(String segment, List<String[]> placeholders, List<Integer> groups) {
+        StringBuilder regex = new StringBuilder();
+        int groupCount = 0;
+        int literalStart = 0;
+        int i = 0;
+        while (i < segment.length()) {
+            if (segment.charAt(i) != '{') {
+                i++;
+                continue;
+            }
+            // Chercher l'accolade fermante correspondante
+            int depth = 0;
+            int close = -1;
+            for (int j = i; j < segment.length(); j++) {
+                char c = segment.charAt(j);
+                if (c == '{') depth++;
+                else if (c == '}' && --depth == 0) {
+                    close = j;
+                    break;
+                }
+            }
+            if (close < 0) {
+                break;
+            }
+
+            String body = segment.substring(i + 1, close);
+            int colon = body.indexOf(':');
+            String name = colon < 0 ? body : body.substring(0, colon);
+            String spec = colon < 0 ? null : body.substring(colon + 1);
+            placeholders.add(new String[]{name, spec, segment.substring(i, close + 1)});
+
+            if (literalStart < i) {
+                regex.append(Pattern.quote(segment.substring(literalStart, i)));
+            }
+            // Groupes capturants de la contrainte (ex: "(json|xml)") : décalent les suivants
+            String constraintRegex = PathConstraint.of(spec).regex();
+            groups.add(++groupCount);
+            groupCount += Pattern.compile(constraintRegex).matcher("").groupCount();
+            regex.append('(').append(constraintRegex).append(')');
+
+            i = close + 1;
+            literalStart = i;
+        }
+        if (literalStart < segment.length()) {
+            regex.append(Pattern.quote(segment.substring(literalStart)));
+        }
+        return regex.toString();
+    }
+
+    /**
+     * Découpe un chemin en segments, sans le '/' initial
+     * Ex: "/user/{id}" → ["user", "{id}"], "/" → [""]
+     */
+    static String[] split(String path) {
+        List<String> parts = new ArrayList<>();
+        int start = path.startsWith("/") ? 1 : 0;
+        for (int i = start; i <= path.length(); i++) {
+            if (i == path.length() || path.charAt(i) == '/') {
+                parts.add(path.substring(start, i));
+                start = i + 1;
+            }
+        }
+        return parts.toArray(new String[0]);
+    }
+
+    // ========== GETTERS ==========
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    public String getSegment(int index) {
+        return segments[index];
+    }
+
+    public int getSegmentType(int index) {
+        return segmentTypes[index];
+    }
+
+    /**
+     * Contrainte d'un segment VARIABLE (null pour les autres types)
+     */
+    public PathConstraint getConstraint(int index) {
+        return constraints[index];
+    }
+
+    public Pattern getSegmentRegex(int index) {
+        return segmentRegex[index];
+    }
+
+    /**
+     * Nombre de valeurs extraites de l'URL (groupes capturés)
+     */
+    public int getVariableCount() {
+        return variableCount;
+    }
+
+    /**
+     * Nombre de segments dynamiques contraints (typés, regex ou mixtes)
+     * Utilisé pour prioriser "/item/{id:int}" avant "/item/{name}"
+     */
+    public int getConstrainedCount() {
+        return constrainedCount;
+    }
+
+    /**
+     * Vrai si le pattern ne contient aucune partie dynamique
+     */
+    public boolean isStatic() {
+        return variableCount == 0;
+    }
+
+    /**
+     * Teste path[start, end) contre le segment REGEX du pattern,
+     * et copie la valeur de chaque placeholder dans values à partir de offset
+     * (pas les groupes internes des contraintes)
+     *
+     * @return le nombre de valeurs copiées, ou -1 si pas de correspondance
+     */
+    int matchRegexSegment(int index, String path, int start, int end, Object[] values, int offset) {
+        Matcher m = segmentRegex[index].matcher(path).region(start, end);
+        if (!m.matches()) {
+            return -1;
+        }
+        int[] groups = segmentGroups[index];
+        for (int k = 0; k < groups.length; k++) {
+            values[offset + k] = m.group(groups[k]);
+        }
+        return groups.length;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
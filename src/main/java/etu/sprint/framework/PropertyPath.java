@@ -0,0 +1,371 @@
+package etu.sprint.framework;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chemin de propriété imbriquée compilé (ex: "user.address.street", "items[3].qty", "tags[color]")
+ *
+ * Le chemin est analysé et résolu une seule fois par (classe, chemin) en une chaîne
+ * d'accesseurs : chaque niveau sait lire ou créer l'objet suivant (bean, élément
+ * de List, valeur de Map), le dernier sait convertir et écrire la valeur.
+ * À chaque requête : une recherche dans le cache puis des appels de MethodHandle.
+ */
+public final class PropertyPath {
+
+    // Nombre max de chemins mis en cache par classe (les noms viennent de la requête)
+    private static final int MAX_CACHED_PATHS = 4096;
+
+    // Index max d'une List dans un chemin (évite de faire grossir une liste à la demande)
+    static final int MAX_LIST_INDEX = 1024;
+
+    private static final ClassValue<Map<String, PropertyPath>> CACHE =
+            new ClassValue<Map<String, PropertyPath>>() {
+                @Override
+                protected Map<String, PropertyPath> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    // Chemin invalide pour la classe (mis en cache aussi)
+    private static final PropertyPath INVALID = new PropertyPath(null, new Step[0]);
+
+    private final String path;
+    private final Step[] steps;
+
+    private PropertyPath(String path, Step[] steps) {
+        this.path = path;
+        this.steps = steps;
+    }
+
+    /**
+     * Chemin compilé (en cache) pour une classe racine
+     *
+     * @return null si le chemin ne correspond à aucune propriété de la classe
+     */
+    public static PropertyPath of(Class<?> rootType, String path) {
+        Map<String, PropertyPath> cache = CACHE.get(rootType);
+        PropertyPath compiled = cache.get(path);
+        if (compiled == null) {
+            compiled = compile(rootType, path);
+            if (compiled == null) {
+                System.err.println("[PropertyPath] Propriété non trouvée: " + path + 
+                                 " dans " + rootType.getName());
+                compiled = INVALID;
+            }
+            if (cache.size() < MAX_CACHED_PATHS) {
+                cache.putIfAbsent(path, compiled);
+            }
+        }
+        return compiled == INVALID ? null : compiled;
+    }
+
+    /**
+     * Convertit puis écrit la valeur en créant les niveaux intermédiaires manquants
+     * (rien n'est écrit si un niveau ne peut pas être atteint ou créé)
+     *
+     * @return false si la valeur n'est pas convertible
+     */
+    public boolean bind(Object root, String value) {
+        Object current = root;
+        int last = steps.length - 1;
+        for (int i = 0; i < last; i++) {
+            current = steps[i].getOrCreate(current);
+            if (current == null) {
+                return true;
+            }
+        }
+        return steps[last].set(current, value);
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Type de la valeur écrite au bout du chemin
+     */
+    public Class<?> getValueType() {
+        return steps[steps.length - 1].valueType();
+    }
+
+    // ========== COMPILATION ==========
+
+    /**
+     * Analyse "a.b[2].c[key]" en étapes typées à partir de la classe racine
+     */
+    private static PropertyPath compile(Class<?> rootType, String path) {
+        List<Step> steps = new ArrayList<>();
+        Type currentType = rootType;
+        int length = path.length();
+        int i = 0;
+
+        while (i < length) {
+            // Nom de propriété
+            int start = i;
+            while (i < length && path.charAt(i) != '.' && path.charAt(i) != '[') {
+                i++;
+            }
+            if (i == start) {
+                return null;
+            }
+            BeanBinder.Property property = BeanBinder.of(rawType(currentType)).getProperty(path.substring(start, i));
+            if (property == null) {
+                return null;
+            }
+            steps.add(new PropertyStep(property));
+            currentType = property.getGenericType();
+
+            // Index [n] / clés [k] (éventuellement enchaînés)
+            while (i < length && path.charAt(i) == '[') {
+                int close = path.indexOf(']', i);
+                if (close < 0 || close == i + 1) {
+                    return null;
+                }
+                String key = path.substring(i + 1, close);
+                Class<?> raw = rawType(currentType);
+                if (List.class.isAssignableFrom(raw)) {
+                    int index = parseIndex(key);
+                    if (index < 0) {
+                        return null;
+                    }
+                    Type elementType = typeArgument(currentType, 0);
+                    steps.add(new ListStep(index, elementType));
+                    currentType = elementType;
+                } else if (Map.class.isAssignableFrom(raw)) {
+                    // Clé convertie une fois ici, au type de clé de la Map (Map<Integer, ...> : 1, pas "1")
+                    Object mapKey = ConverterRegistry.convert(key, rawType(typeArgument(currentType, 0)));
+                    if (mapKey == TypeConverter.INVALID) {
+                        return null;
+                    }
+                    Type valueType = typeArgument(currentType, 1);
+                    steps.add(new MapStep(mapKey, valueType));
+                    currentType = valueType;
+                } else {
+                    return null;
+                }
+                i = close + 1;
+            }
+
+            if (i < length) {
+                if (path.charAt(i) != '.') {
+                    return null;
+                }
+                i++;
+                if (i == length) {
+                    return null;
+                }
+            }
+        }
+
+        if (steps.isEmpty()) {
+            return null;
+        }
+        return new PropertyPath(path, steps.toArray(new Step[0]));
+    }
+
+    private static int parseIndex(String key) {
+        if (key.length() > 6) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value <= MAX_LIST_INDEX ? value : -1;
+    }
+
+    static Class<?> rawType(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        return Object.class;
+    }
+
+    private static Type typeArgument(Type type, int index) {
+        if (type instanceof ParameterizedType) {
+            Type[] args = ((ParameterizedType) type).getActualTypeArguments();
+            if (index < args.length) {
+                return args[index];
+            }
+        }
+        return Object.class;
+    }
+
+    /**
+     * Instance vide pour un niveau intermédiaire (List/Map concrètes si interface)
+     */
+    private static Object instantiate(Class<?> type) {
+        try {
+            if (type == List.class || type == java.util.Collection.class) {
+                return new ArrayList<>();
+            }
+            if (type == Map.class) {
+                return new LinkedHashMap<>();
+            }
+            return BeanBinder.of(type).newInstance();
+        } catch (Exception e) {
+            System.err.println("[PropertyPath] Impossible de créer " + type.getName() + " (" + e + ")");
+            return null;
+        }
+    }
+
+    // ========== ÉTAPES ==========
+
+    private abstract static class Step {
+        abstract Object getOrCreate(Object current);
+
+        abstract boolean set(Object current, String value);
+
+        abstract Class<?> valueType();
+    }
+
+    /**
+     * Propriété de bean : reader/writer pré-résolus par le BeanBinder
+     */
+    private static final class PropertyStep extends Step {
+        private final BeanBinder.Property property;
+        private final Class<?> type;
+
+        PropertyStep(BeanBinder.Property property) {
+            this.property = property;
+            this.type = property.getType();
+        }
+
+        @Override
+        Object getOrCreate(Object current) {
+            Object child = property.isReadable() ? property.read(current) : null;
+            if (child == null) {
+                if (!property.isWritable()) {
+                    return null;
+                }
+                child = instantiate(type);
+                if (child != null) {
+                    property.write(current, child);
+                }
+            }
+            return child;
+        }
+
+        @Override
+        boolean set(Object current, String value) {
+            return property.bind(current, value);
+        }
+
+        @Override
+        Class<?> valueType() {
+            return type;
+        }
+    }
+
+    /**
+     * Élément d'une List : la liste est complétée par des null jusqu'à l'index
+     */
+    private static final class ListStep extends Step {
+        private final int index;
+        private final Class<?> elementType;
+        private final TypeConverter converter;
+        private final Object emptyValue;
+
+        ListStep(int index, Type elementType) {
+            this.index = index;
+            this.elementType = rawType(elementType);
+            this.converter = ConverterRegistry.lookup(this.elementType);
+            this.emptyValue = ConverterRegistry.defaultValue(this.elementType);
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<Object> grow(Object current) {
+            List<Object> list = (List<Object>) current;
+            while (list.size() <= index) {
+                list.add(null);
+            }
+            return list;
+        }
+
+        @Override
+        Object getOrCreate(Object current) {
+            List<Object> list = grow(current);
+            Object child = list.get(index);
+            if (child == null) {
+                child = instantiate(elementType);
+                list.set(index, child);
+            }
+            return child;
+        }
+
+        @Override
+        boolean set(Object current, String value) {
+            Object converted = BeanBinder.convert(converter, emptyValue, value);
+            if (converted == TypeConverter.INVALID) {
+                return false;
+            }
+            grow(current).set(index, converted);
+            return true;
+        }
+
+        @Override
+        Class<?> valueType() {
+            return elementType;
+        }
+    }
+
+    /**
+     * Valeur d'une Map, par clé (déjà convertie au type de clé)
+     */
+    private static final class MapStep extends Step {
+        private final Object key;
+        private final Class<?> valueType;
+        private final TypeConverter converter;
+        private final Object emptyValue;
+
+        MapStep(Object key, Type valueType) {
+            this.key = key;
+            this.valueType = rawType(valueType);
+            this.converter = ConverterRegistry.lookup(this.valueType);
+            this.emptyValue = ConverterRegistry.defaultValue(this.valueType);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object getOrCreate(Object current) {
+            Map<Object, Object> map = (Map<Object, Object>) current;
+            Object child = map.get(key);
+            if (child == null) {
+                child = instantiate(valueType);
+                if (child != null) {
+                    map.put(key, child);
+                }
+            }
+            return child;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        boolean set(Object current, String value) {
+            Object converted = BeanBinder.convert(converter, emptyValue, value);
+            if (converted == TypeConverter.INVALID) {
+                return false;
+            }
+            ((Map<Object, Object>) current).put(key, converted);
+            return true;
+        }
+
+        @Override
+        Class<?> valueType() {
+            return valueType;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package etu.sprint.framework;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
+import etu.sprint.framework.annotation.RateLimit;
+
+/**
+ * Limite de débit par client : un seau à jetons par clé (IP, en-tête ou session)
+ *
+ * Chaque seau est un seul long (algorithme GCRA, équivalent au seau à jetons) :
+ * l'instant théorique de la prochaine requête. Une requête avance cet instant
+ * d'un intervalle (période / requests) par compareAndSet ; elle est refusée
+ * s'il dépasse maintenant de plus que la rafale autorisée. Aucun verrou.
+ *
+ * Les seaux sont répartis sur 16 segments (ConcurrentHashMap + compteur propre) :
+ * - un seau dont l'instant est passé est plein, il peut être supprimé sans rien perdre ;
+ *   un segment est nettoyé toutes les 1024 requêtes qui le touchent ;
+ * - au-delà de maxClients / 16 clés dans un segment, il est nettoyé tout de suite,
+ *   puis les seaux les plus proches d'être pleins (instant le plus ancien) sont retirés
+ *   jusqu'à la moitié de la capacité : mémoire bornée même avec des millions de clients,
+ *   et un afflux de nouvelles clés ne remet pas à zéro les clients déjà limités.
+ */
+public class RateLimiter {
+
+    // Nombre max de clients suivis par défaut (paramètre rateLimitMaxClients pour la limite globale)
+    public static final int DEFAULT_MAX_CLIENTS = 100_000;
+
+    private static final int STRIPES = 16;
+    private static final int SWEEP_EVERY = 1024;
+
+    private final int requests;
+    private final int seconds;
+    private final int burst;
+    private final RateLimit.Key key;
+    private final String header;
+
+    // Intervalle entre deux requêtes, et avance maximale tolérée (rafale)
+    private final long intervalNanos;
+    private final long toleranceNanos;
+
+    private final int maxPerStripe;
+    private final Stripe[] stripes;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Segment : seaux par clé, et nombre de requêtes reçues (nettoyage périodique)
+     */
+    private static final class Stripe {
+        final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        final AtomicLong operations = new AtomicLong();
+    }
+
+    /**
+     * @param maxClients nombre max de clés suivies
+     */
+    public RateLimiter(int requests, int seconds, int burst, RateLimit.Key key, String header, int maxClients) {
+        this.requests = Math.max(1, requests);
+        this.seconds = Math.max(1, seconds);
+        this.burst = burst > 0 ? burst : this.requests;
+        this.key = key;
+        this.header = header != null ? header : "";
+        this.intervalNanos = this.seconds * 1_000_000_000L / this.requests;
+        this.toleranceNanos = intervalNanos * (this.burst - 1);
+        this.maxPerStripe = Math.max(16, maxClients / STRIPES);
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public RateLimiter(RateLimit limit) {
+        this(limit.requests(), limit.seconds(), limit.burst(), limit.key(), limit.header(), DEFAULT_MAX_CLIENTS);
+    }
+
+    /**
+     * Consomme un jeton pour le client de la requête
+     *
+     * @return 0 si la requête est acceptée, sinon le délai d'attente en secondes (Retry-After)
+     */
+    public long acquire(HttpServletRequest request) {
+        String clientKey = clientKey(request);
+        Stripe stripe = stripes[(clientKey.hashCode() & 0x7fffffff) % STRIPES];
+        Map<String, AtomicLong> buckets = stripe.buckets;
+        long now = System.nanoTime();
+
+        AtomicLong bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            if (buckets.size() >= maxPerStripe) {
+                sweep(buckets, now, true);
+            }
+            AtomicLong created = new AtomicLong(now);
+            bucket = buckets.putIfAbsent(clientKey, created);
+            if (bucket == null) {
+                bucket = created;
+            }
+        }
+
+        long wait = tryConsume(bucket, now);
+
+        // Compteur du segment : pas de point de contention commun à toutes les requêtes
+        if (stripe.operations.incrementAndGet() % SWEEP_EVERY == 0) {
+            sweep(buckets, now, false);
+        }
+
+        if (wait == 0) {
+            allowed.increment();
+            return 0;
+        }
+        rejected.increment();
+        return Math.max(1, (wait + 999_999_999L) / 1_000_000_000L);
+    }
+
+    /**
+     * @return 0 si un jeton a été pris, sinon l'attente en nanosecondes
+     */
+    private long tryConsume(AtomicLong bucket, long now) {
+        while (true) {
+            long theoretical = bucket.get();
+            long start = theoretical - now > 0 ? theoretical : now;
+            long ahead = start - now;
+            if (ahead > toleranceNanos) {
+                return ahead - toleranceNanos;
+            }
+            if (bucket.compareAndSet(theoretical, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Retire les seaux pleins (inactifs) ; force : puis les seaux les plus proches
+     * d'être pleins, jusqu'à la moitié de la capacité (les clients limités restent)
+     */
+    private void sweep(Map<String, AtomicLong> buckets, long now, boolean force) {
+        Iterator<AtomicLong> it = buckets.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().get() - now <= 0) {
+                it.remove();
+                evictions.increment();
+            }
+        }
+        int target = maxPerStripe / 2;
+        if (!force || buckets.size() < maxPerStripe) {
+            return;
+        }
+
+        // Avance de chaque seau sur maintenant : la plus petite = le moins de jetons consommés
+        long[] ahead = new long[buckets.size()];
+        int count = 0;
+        for (AtomicLong bucket : buckets.values()) {
+            if (count == ahead.length) {
+                break;
+            }
+            ahead[count++] = bucket.get() - now;
+        }
+        if (count <= target) {
+            return;
+        }
+        Arrays.sort(ahead, 0, count);
+        long cutoff = ahead[count - target - 1];
+
+        it = buckets.values().iterator();
+        while (it.hasNext() && buckets.size() > target) {
+            if (it.next().get() - now <= cutoff) {
+                it.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Identité du client selon la clé configurée (IP par défaut)
+     */
+    private String clientKey(HttpServletRequest request) {
+        switch (key) {
+            case HEADER: {
+                String value = header.isEmpty() ? null : request.getHeader(header);
+                if (value != null && !value.isEmpty()) {
+                    return "h:" + value;
+                }
+                break;
+            }
+            case SESSION: {
+                HttpSession session = request.getSession(false);
+                if (session != null) {
+                    return "s:" + session.getId();
+                }
+                break;
+            }
+            default:
+                break;
+        }
+        return request.getRemoteAddr();
+    }
+
+    // ========== CONFIGURATION ==========
+
+    public int getRequests() {
+        return requests;
+    }
+
+    public int getSeconds() {
+        return seconds;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public RateLimit.Key getKey() {
+        return key;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    // ========== STATISTIQUES ==========
+
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Nombre de clients suivis (approximatif)
+     */
+    public int getClientCount() {
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            count += stripe.buckets.size();
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimiter[" + requests + "/" + seconds + "s, burst=" + burst + ", key=" + key
+                + (key == RateLimit.Key.HEADER ? "(" + header + ")" : "")
+                + ", clients=" + getClientCount() + ", allowed=" + getAllowedCount()
+                + ", rejected=" + getRejectedCount() + ", evictions=" + getEvictionCount() + "]";
+    }
+}
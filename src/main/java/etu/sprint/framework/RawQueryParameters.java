@@ -0,0 +1,131 @@
+package etu.sprint.framework;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lecture d'un paramètre directement dans la query string brute
+ *
+ * request.getParameter() fait analyser et décoder par le conteneur toute la
+ * query string (et le corps d'un formulaire) dans une Map<String, String[]>,
+ * même si la route ne lit qu'une clé. Ici, la query string est parcourue
+ * sans allocation jusqu'à la clé demandée (noms comparés en décodant à la volée),
+ * et seule la valeur trouvée est décodée (%XX en UTF-8, '+' → espace).
+ *
+ * Activé par le paramètre d'init rawQueryParameters=true, pour les requêtes GET
+ * (les autres requêtes passent toujours par request.getParameter()).
+ */
+public final class RawQueryParameters {
+
+    // Résultat : séquence %XX invalide, laisser le conteneur décider
+    static final String MALFORMED = new String("<malformed>");
+
+    private RawQueryParameters() {
+    }
+
+    /**
+     * Première valeur du paramètre dans la query string
+     *
+     * @return la valeur décodée ("" si "name" ou "name="), null si absent,
+     *         MALFORMED si l'encodage est invalide
+     */
+    public static String get(String query, String name) {
+        if (query == null) {
+            return null;
+        }
+        int length = query.length();
+        int start = 0;
+        while (start <= length) {
+            int end = query.indexOf('&', start);
+            if (end < 0) {
+                end = length;
+            }
+            int equals = query.indexOf('=', start);
+            int keyEnd = (equals >= 0 && equals < end) ? equals : end;
+
+            int match = keyMatches(query, start, keyEnd, name);
+            if (match < 0) {
+                return MALFORMED;
+            }
+            if (match > 0) {
+                return keyEnd == end ? "" : decode(query, keyEnd + 1, end);
+            }
+            start = end + 1;
+        }
+        return null;
+    }
+
+    /**
+     * Compare la clé encodée query[start, end) au nom, en décodant à la volée
+     *
+     * @return 1 si égale, 0 sinon, -1 si encodage invalide
+     */
+    private static int keyMatches(String query, int start, int end, String name) {
+        int nameLength = name.length();
+        // Pas de décodage possible → longueurs identiques obligatoires
+        if (end - start == nameLength && query.regionMatches(start, name, 0, nameLength)) {
+            return 1;
+        }
+        if (end - start < nameLength) {
+            return 0;
+        }
+        boolean encoded = false;
+        for (int i = start; i < end; i++) {
+            char c = query.charAt(i);
+            if (c == '%' || c == '+') {
+                encoded = true;
+                break;
+            }
+        }
+        if (!encoded) {
+            return 0;
+        }
+        String key = decode(query, start, end);
+        if (key == MALFORMED) {
+            return -1;
+        }
+        return key.equals(name) ? 1 : 0;
+    }
+
+    /**
+     * Décode query[start, end) ; sans %XX ni '+', simple substring
+     */
+    static String decode(String query, int start, int end) {
+        int firstEscape = -1;
+        for (int i = start; i < end; i++) {
+            char c = query.charAt(i);
+            if (c == '%' || c == '+') {
+                firstEscape = i;
+                break;
+            }
+        }
+        if (firstEscape < 0) {
+            return query.substring(start, end);
+        }
+
+        byte[] bytes = new byte[end - start];
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            char c = query.charAt(i);
+            if (c == '+') {
+                bytes[count++] = ' ';
+            } else if (c == '%') {
+                if (i + 2 >= end) {
+                    return MALFORMED;
+                }
+                int high = Character.digit(query.charAt(i + 1), 16);
+                int low = Character.digit(query.charAt(i + 2), 16);
+                if (high < 0 || low < 0) {
+                    return MALFORMED;
+                }
+                bytes[count++] = (byte) ((high << 4) | low);
+                i += 2;
+            } else if (c < 0x80) {
+                bytes[count++] = (byte) c;
+            } else {
+                // Caractère non ASCII non encodé : laissé au conteneur
+                return MALFORMED;
+            }
+        }
+        return new String(bytes, 0, count, StandardCharsets.UTF_8);
+    }
+}
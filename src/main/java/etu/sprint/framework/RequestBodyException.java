@@ -0,0 +1,26 @@
+package etu.sprint.framework;
+
+/**
+ * Corps de requête refusé par @RequestBody : JSON invalide ou trop profond (400),
+ * trop volumineux (413), Content-Type non JSON (415)
+ *
+ * FrontServlet répond avec getStatus() et le message, sans appeler le contrôleur.
+ */
+public class RequestBodyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    public RequestBodyException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    /**
+     * Statut HTTP de la réponse
+     */
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,173 @@
+package etu.sprint.framework;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache borné (LRU) devant RouteIndex, clé = (méthode HTTP, chemin)
+ *
+ * Conserve la route résolue ET les paramètres extraits de l'URL :
+ * une URL déjà vue (ex: GET /user/details/42) ne repasse ni par le trie
+ * ni par l'extraction des valeurs.
+ *
+ * Le cache est découpé en segments indépendants (chacun une LinkedHashMap
+ * en ordre d'accès, protégée par son propre verrou) pour limiter la contention.
+ * Seules les routes trouvées sont mises en cache (pas les 404).
+ *
+ * maxSize est réparti exactement entre les segments (jamais plus de maxSize
+ * entrées au total) ; avec maxSize < 16, certains segments ne gardent rien.
+ */
+public class RouteCache {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment[] segments;
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxSize nombre maximal d'entrées (réparties entre les segments)
+     */
+    public RouteCache(int maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            // Reste de la division sur les premiers segments : total = maxSize
+            int capacity = this.maxSize / SEGMENT_COUNT + (i < this.maxSize % SEGMENT_COUNT ? 1 : 0);
+            segments[i] = new Segment(capacity);
+        }
+    }
+
+    /**
+     * Retourne la route en cache, ou la résout via l'index et la met en cache
+     */
+    public RouteMatch match(RouteIndex index, String httpMethod, String path) {
+        Key key = new Key(httpMethod, path);
+        Segment segment = segmentFor(key);
+
+        RouteMatch cached;
+        synchronized (segment) {
+            cached = segment.get(key);
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        RouteMatch match = index.match(httpMethod, path);
+        if (match != null && segment.capacity > 0) {
+            synchronized (segment) {
+                segment.put(key, match);
+            }
+        }
+        return match;
+    }
+
+    private Segment segmentFor(Key key) {
+        int h = key.hash;
+        h ^= (h >>> 16);
+        return segments[h & (SEGMENT_COUNT - 1)];
+    }
+
+    // ========== STATISTIQUES ==========
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Taux de succès entre 0 et 1
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return "RouteCache[size=" + size() + "/" + maxSize
+                + ", hits=" + getHitCount()
+                + ", misses=" + getMissCount()
+                + ", evictions=" + getEvictionCount()
+                + ", hitRate=" + String.format("%.2f", getHitRate()) + "]";
+    }
+
+    /**
+     * Segment LRU : LinkedHashMap en ordre d'accès, éviction de l'entrée la plus ancienne
+     */
+    private class Segment extends LinkedHashMap<Key, RouteMatch> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, RouteMatch> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Clé (méthode HTTP, chemin) avec hash précalculé
+     */
+    private static final class Key {
+        final String httpMethod;
+        final String path;
+        final int hash;
+
+        Key(String httpMethod, String path) {
+            this.httpMethod = httpMethod;
+            this.path = path;
+            this.hash = 31 * httpMethod.hashCode() + path.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return hash == other.hash && path.equals(other.path) && httpMethod.equals(other.httpMethod);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package etu.sprint.framework;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Index des routes construit une seule fois dans scanControllers()
+ *
+ * - Routes statiques ("/hello") : HashMap par méthode HTTP → recherche directe
+ * - Routes dynamiques ("/user/{id}") : trie de segments par méthode HTTP
+ *
+ * Le coût d'une recherche dépend de la profondeur de l'URL, pas du nombre de routes.
+ * Le chemin est parcouru par index (pas de découpage) et les segments typés
+ * ({id:int}, {uuid:uuid}) sont convertis pendant le parcours.
+ *
+ * Priorité (identique au tri de la liste) : les routes statiques d'abord,
+ * puis celles avec le moins de paramètres, les plus contraintes, puis les patterns
+ * les plus longs. Le rang de chaque route est son index dans la liste triée.
+ */
+public class RouteIndex {
+
+    private static final Object[] NO_PARAMS = new Object[0];
+
+    // Au-delà, la recherche d'un segment littéral passe par la HashMap
+    private static final int LINEAR_LITERAL_LIMIT = 4;
+
+    // Méthode HTTP (majuscules) → (chemin exact → route)
+    private final Map<String, Map<String, RouteMapping>> staticRoutes = new HashMap<>();
+
+    // Méthode HTTP (majuscules) → racine du trie
+    private final Map<String, Node> dynamicRoutes = new HashMap<>();
+
+    // Nombre maximal de valeurs capturées par une route (taille du tampon de recherche)
+    private int maxVariables;
+
+    /**
+     * @param sortedMappings routes déjà triées par priorité
+     */
+    public RouteIndex(List<RouteMapping> sortedMappings) {
+        for (int rank = 0; rank < sortedMappings.size(); rank++) {
+            RouteMapping rm = sortedMappings.get(rank);
+            String httpMethod = rm.getHttpMethod().toUpperCase(Locale.ROOT);
+            PathPattern pattern = rm.getPathPattern();
+
+            if (pattern.isStatic()) {
+                // putIfAbsent : en cas de doublon, la première route (mieux classée) gagne
+                staticRoutes.computeIfAbsent(httpMethod, k -> new HashMap<>())
+                            .putIfAbsent(rm.getPattern(), rm);
+            } else {
+                maxVariables = Math.max(maxVariables, pattern.getVariableCount());
+                Node node = dynamicRoutes.computeIfAbsent(httpMethod, k -> new Node(null, -1));
+                for (int i = 0; i < pattern.getSegmentCount(); i++) {
+                    node = node.child(pattern, i);
+                }
+                if (node.route == null) {
+                    node.route = rm;
+                    node.rank = rank;
+                }
+            }
+        }
+
+        for (Node root : dynamicRoutes.values()) {
+            root.compact();
+        }
+    }
+
+    /**
+     * Cherche la route correspondant à la requête
+     *
+     * @param httpMethod méthode HTTP de la requête (ex: "GET")
+     * @param path chemin sans le context path (ex: "/user/42")
+     * @return la route + les paramètres extraits, ou null si aucune route
+     */
+    public RouteMatch match(String httpMethod, String path) {
+        String method = httpMethod.toUpperCase(Locale.ROOT);
+
+        Map<String, RouteMapping> statics = staticRoutes.get(method);
+        if (statics != null) {
+            RouteMapping rm = statics.get(path);
+            if (rm != null) {
+                return new RouteMatch(rm, NO_PARAMS);
+            }
+        }
+
+        Node root = dynamicRoutes.get(method);
+        if (root == null) {
+            return null;
+        }
+
+        Search search = new Search(path, maxVariables);
+        root.search(search, path.startsWith("/") ? 1 : 0, 0);
+
+        if (search.best == null) {
+            return null;
+        }
+        return new RouteMatch(search.best, search.bestValues);
+    }
+
+    /**
+     * État d'une recherche dans le trie (valeurs capturées + meilleure route trouvée)
+     */
+    private static class Search {
+        final String path;
+        final Object[] values;
+        RouteMapping best;
+        int bestRank = Integer.MAX_VALUE;
+        Object[] bestValues;
+
+        Search(String path, int maxVariables) {
+            this.path = path;
+            this.values = new Object[maxVariables];
+        }
+    }
+
+    /**
+     * Nœud du trie : un segment de pattern
+     */
+    private static class Node {
+        // Pattern et index du segment représenté par ce nœud (null pour la racine)
+        final PathPattern pattern;
+        final int segmentIndex;
+
+        final Map<String, Node> literalChildren = new HashMap<>();
+        final List<Node> dynamicChildren = new ArrayList<>();
+
+        // Copies en tableau pour le parcours (remplies par compact())
+        String[] literalKeys;
+        Node[] literalNodes;
+        Node[] dynamicNodes;
+
+        RouteMapping route;
+        int rank;
+
+        Node(PathPattern pattern, int segmentIndex) {
+            this.pattern = pattern;
+            this.segmentIndex = segmentIndex;
+        }
+
+        Node child(PathPattern p, int index) {
+            String segment = p.getSegment(index);
+            int type = p.getSegmentType(index);
+
+            if (type == PathPattern.LITERAL) {
+                return literalChildren.computeIfAbsent(segment, k -> new Node(p, index));
+            }
+
+            // {id} et {userId} sont équivalents : seuls le type et la contrainte comptent
+            for (Node child : dynamicChildren) {
+                if (child.pattern.getSegmentType(child.segmentIndex) != type) {
+                    continue;
+                }
+                boolean same = type == PathPattern.VARIABLE
+                        ? child.pattern.getConstraint(child.segmentIndex).key()
+                                .equals(p.getConstraint(index).key())
+                        : child.pattern.getSegment(child.segmentIndex).equals(segment);
+                if (same) {
+                    return child;
+                }
+            }
+            Node node = new Node(p, index);
+            dynamicChildren.add(node);
+            return node;
+        }
+
+        void compact() {
+            literalKeys = literalChildren.keySet().toArray(new String[0]);
+            literalNodes = new Node[literalKeys.length];
+            for (int i = 0; i < literalKeys.length; i++) {
+                literalNodes[i] = literalChildren.get(literalKeys[i]);
+                literalNodes[i].compact();
+            }
+            dynamicNodes = dynamicChildren.toArray(new Node[0]);
+            for (Node child : dynamicNodes) {
+                child.compact();
+            }
+        }
+
+        Node findLiteral(String path, int start, int end) {
+            if (literalKeys.length == 0) {
+                return null;
+            }
+            if (literalKeys.length > LINEAR_LITERAL_LIMIT) {
+                return literalChildren.get(path.substring(start, end));
+            }
+            int length = end - start;
+            for (int i = 0; i < literalKeys.length; i++) {
+                String key = literalKeys[i];
+                if (key.length() == length && path.regionMatches(start, key, 0, length)) {
+                    return literalNodes[i];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Parcourt le trie en profondeur à partir de path[start] ; garde la route de meilleur rang.
+         * Toutes les branches compatibles sont visitées pour respecter la priorité.
+         */
+        void search(Search s, int start, int valueCount) {
+            String path = s.path;
+            if (start > path.length()) {
+                if (route != null && rank < s.bestRank) {
+                    s.best = route;
+                    s.bestRank = rank;
+                    s.bestValues = Arrays.copyOf(s.values, valueCount);
+                }
+                return;
+            }
+
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+
+            Node literal = findLiteral(path, start, end);
+            if (literal != null) {
+                literal.search(s, end + 1, valueCount);
+            }
+
+            for (Node child : dynamicNodes) {
+                int type = child.pattern.getSegmentType(child.segmentIndex);
+                if (type == PathPattern.VARIABLE) {
+                    Object value = child.pattern.getConstraint(child.segmentIndex).parse(path, start, end);
+                    if (value == PathConstraint.NO_MATCH) {
+                        continue;
+                    }
+                    s.values[valueCount] = value;
+                    child.search(s, end + 1, valueCount + 1);
+                } else {
+                    int captured = child.pattern.matchRegexSegment(
+                            child.segmentIndex, path, start, end, s.values, valueCount);
+                    if (captured >= 0) {
+                        child.search(s, end + 1, valueCount + captured);
+                    }
+                }
+            }
+        }
+    }
+}
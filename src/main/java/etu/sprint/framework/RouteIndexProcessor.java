@@ -0,0 +1,166 @@
+package etu.sprint.framework;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import etu.sprint.framework.annotation.HttpMethod;
+import etu.sprint.framework.annotation.MyUrl;
+import etu.sprint.framework.controller.Controller;
+
+/**
+ * Processeur d'annotations : génère l'index des routes à la compilation
+ *
+ * Écrit META-INF/sprint-routes.idx dans le répertoire des classes compilées :
+ *
+ *   # commentaire
+ *   etu.test.controller.HelloController
+ *   \tGET\t/hello\tsayHello
+ *
+ * Au démarrage, FrontServlet charge uniquement les classes listées
+ * (voir routeIndexMode) au lieu de parcourir /WEB-INF/classes.
+ *
+ * Le processeur est déclaré dans META-INF/services du jar du framework :
+ * il s'exécute automatiquement quand on compile les contrôleurs avec
+ * sprint-framework.jar dans le classpath (ou via -processor).
+ * Si les contrôleurs sont compilés un par un, les entrées déjà présentes
+ * dans l'index sont conservées et mises à jour.
+ */
+public class RouteIndexProcessor extends AbstractProcessor {
+
+    public static final String INDEX_RESOURCE = "META-INF/sprint-routes.idx";
+
+    // Classe contrôleur → lignes de routes (triées pour un fichier stable)
+    private final Map<String, List<String>> controllers = new TreeMap<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> types = new LinkedHashSet<>();
+        types.add(Controller.class.getName());
+        types.add(MyUrl.class.getName());
+        types.add(HttpMethod.class.getName());
+        return types;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Controller.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+
+            List<String> routes = new ArrayList<>();
+            for (Element member : type.getEnclosedElements()) {
+                MyUrl url = member.getAnnotation(MyUrl.class);
+                if (member.getKind() != ElementKind.METHOD || url == null) {
+                    continue;
+                }
+                HttpMethod httpMethod = member.getAnnotation(HttpMethod.class);
+                routes.add((httpMethod != null ? httpMethod.value() : "GET") + "\t"
+                        + url.value() + "\t" + member.getSimpleName());
+            }
+            controllers.put(className, routes);
+        }
+
+        if (roundEnv.processingOver() && !controllers.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    /**
+     * Fusionne avec l'index existant puis réécrit le fichier
+     */
+    private void writeIndex() {
+        Filer filer = processingEnv.getFiler();
+        Map<String, List<String>> merged = new TreeMap<>();
+
+        try {
+            FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (InputStream in = existing.openInputStream()) {
+                merged.putAll(readIndex(in));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // Pas d'index existant : première compilation
+        }
+        merged.putAll(controllers);
+
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            // UTF-8 explicite : indépendant de l'option -encoding du compilateur
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# Index des routes généré par " + getClass().getSimpleName() + "\n");
+                for (Map.Entry<String, List<String>> entry : merged.entrySet()) {
+                    writer.write(entry.getKey() + "\n");
+                    for (String route : entry.getValue()) {
+                        writer.write("\t" + route + "\n");
+                    }
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Impossible d'écrire " + INDEX_RESOURCE + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lit un index : classe → lignes de routes
+     * Utilisé aussi par FrontServlet au démarrage
+     */
+    public static Map<String, List<String>> readIndex(Reader source) throws IOException {
+        Map<String, List<String>> index = new TreeMap<>();
+        BufferedReader reader = new BufferedReader(source);
+        List<String> current = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (line.startsWith("\t")) {
+                if (current != null) {
+                    current.add(line.substring(1));
+                }
+            } else {
+                current = new ArrayList<>();
+                index.put(line.trim(), current);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Variante pour un flux binaire (ressource du classpath)
+     */
+    public static Map<String, List<String>> readIndex(InputStream in) throws IOException {
+        return readIndex(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+}
@@ -2,6 +2,12 @@ package etu.sprint.framework;
 
 import java.lang.reflect.Method;
 
+import etu.sprint.framework.annotation.ConcurrencyLimit;
+import etu.sprint.framework.annotation.JSON;
+import etu.sprint.framework.annotation.Priority;
+import etu.sprint.framework.annotation.RateLimit;
+import etu.sprint.framework.annotation.VirtualThreads;
+
 /**
  * Classe qui représente une route (mapping URL -> Méthode Controller)
  * 
@@ -29,6 +35,35 @@ public class RouteMapping {
     // La méthode HTTP requise (ex: "GET", "POST", "PUT", "DELETE")
     private String httpMethod;
 
+    // Le matcher compilé du pattern (segments découpés une seule fois)
+    private PathPattern pathPattern;
+
+    // Description des paramètres de la méthode (annotations lues une seule fois)
+    private ParameterSpec[] parameters;
+
+    // Invocation préparée de la méthode (remplace Method.invoke)
+    private MethodInvoker invoker;
+
+    // Plan de binding : un résolveur par paramètre (compilé par FrontServlet)
+    private ArgumentResolver[] resolvers;
+
+    // Métadonnées @JSON (jsonStatus = -1 si la méthode ne retourne pas du JSON)
+    private int jsonStatus;
+    private String jsonContentType;
+    private String jsonDateFormat = "";
+
+    // Exécution sur un thread virtuel (@VirtualThreads sur la méthode ou la classe)
+    private boolean virtualThread;
+
+    // Limite de requêtes simultanées (@ConcurrencyLimit), null si aucune
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    // Priorité face au délestage global (@Priority, NORMAL par défaut)
+    private Priority.Level priority = Priority.Level.NORMAL;
+
+    // Limite de débit par client (@RateLimit), null si aucune
+    private RateLimiter rateLimiter;
+
     /**
      * Constructeur
      * 
@@ -42,6 +77,69 @@ public class RouteMapping {
         this.method = method;
         this.controller = controller;
         this.httpMethod = httpMethod;
+        this.pathPattern = new PathPattern(pattern);
+        this.parameters = ParameterSpec.fromMethod(method, pathPattern.getVariableCount());
+        this.invoker = MethodInvoker.of(method);
+
+        JSON json = method.getAnnotation(JSON.class);
+        this.jsonStatus = json != null ? json.status() : -1;
+        this.jsonContentType = json != null ? json.contentType() : null;
+        if (json != null) {
+            // Pattern invalide : erreur à l'enregistrement, pas à la première réponse
+            JsonDates.format(json.dateFormat());
+            this.jsonDateFormat = json.dateFormat();
+        }
+
+        // L'annotation de la méthode l'emporte sur celle de la classe
+        VirtualThreads virtualThreads = method.getAnnotation(VirtualThreads.class);
+        if (virtualThreads == null) {
+            virtualThreads = method.getDeclaringClass().getAnnotation(VirtualThreads.class);
+        }
+        this.virtualThread = virtualThreads != null && virtualThreads.value();
+
+        ConcurrencyLimit limit = method.getAnnotation(ConcurrencyLimit.class);
+        if (limit == null) {
+            limit = method.getDeclaringClass().getAnnotation(ConcurrencyLimit.class);
+        }
+        if (limit != null) {
+            this.concurrencyLimiter = new ConcurrencyLimiter(limit.value(), limit.adaptive(), limit.min(), limit.max());
+        }
+
+        Priority priority = method.getAnnotation(Priority.class);
+        if (priority == null) {
+            priority = method.getDeclaringClass().getAnnotation(Priority.class);
+        }
+        if (priority != null) {
+            this.priority = priority.value();
+        }
+
+        RateLimit rateLimit = method.getAnnotation(RateLimit.class);
+        if (rateLimit == null) {
+            rateLimit = method.getDeclaringClass().getAnnotation(RateLimit.class);
+        }
+        if (rateLimit != null) {
+            this.rateLimiter = new RateLimiter(rateLimit);
+        }
+    }
+
+    /**
+     * Constructeur sans réflexion sur les annotations (utilisé par RouteSnapshot)
+     *
+     * @param parameters description des paramètres déjà calculée
+     * @param jsonStatus statut @JSON, ou -1 si pas de @JSON
+     * @param jsonContentType Content-Type @JSON, ou null
+     */
+    public RouteMapping(String pattern, Method method, Object controller, String httpMethod,
+                        ParameterSpec[] parameters, int jsonStatus, String jsonContentType) {
+        this.pattern = pattern;
+        this.method = method;
+        this.controller = controller;
+        this.httpMethod = httpMethod;
+        this.pathPattern = new PathPattern(pattern);
+        this.parameters = parameters;
+        this.invoker = MethodInvoker.of(method);
+        this.jsonStatus = jsonStatus;
+        this.jsonContentType = jsonContentType;
     }
 
     // ========== GETTERS ==========
@@ -78,6 +176,115 @@ public class RouteMapping {
         return httpMethod;
     }
 
+    /**
+     * Retourne le matcher compilé du pattern
+     * Ex: segments ["user", "{id}"] pour "/user/{id}"
+     */
+    public PathPattern getPathPattern() {
+        return pathPattern;
+    }
+
+    /**
+     * Retourne la description des paramètres de la méthode
+     */
+    public ParameterSpec[] getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Retourne l'invocation préparée de la méthode
+     */
+    public MethodInvoker getInvoker() {
+        return invoker;
+    }
+
+    /**
+     * Retourne le plan de binding des arguments (un résolveur par paramètre)
+     */
+    public ArgumentResolver[] getResolvers() {
+        return resolvers;
+    }
+
+    public void setResolvers(ArgumentResolver[] resolvers) {
+        this.resolvers = resolvers;
+    }
+
+    /**
+     * Vrai si la méthode est annotée @JSON
+     */
+    public boolean isJson() {
+        return jsonStatus >= 0;
+    }
+
+    /**
+     * Statut HTTP de @JSON (ex: 200, 201)
+     */
+    public int getJsonStatus() {
+        return jsonStatus;
+    }
+
+    /**
+     * Content-Type de @JSON (ex: "application/json")
+     */
+    public String getJsonContentType() {
+        return jsonContentType;
+    }
+
+    /**
+     * Format des dates de @JSON ("" : ISO-8601)
+     */
+    public String getJsonDateFormat() {
+        return jsonDateFormat;
+    }
+
+    public void setJsonDateFormat(String jsonDateFormat) {
+        this.jsonDateFormat = jsonDateFormat;
+    }
+
+    /**
+     * Vrai si la route s'exécute sur un thread virtuel (@VirtualThreads)
+     */
+    public boolean isVirtualThread() {
+        return virtualThread;
+    }
+
+    public void setVirtualThread(boolean virtualThread) {
+        this.virtualThread = virtualThread;
+    }
+
+    /**
+     * Limite de requêtes simultanées de la route, ou null
+     */
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    public void setConcurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    /**
+     * Priorité de la route face au délestage (@Priority)
+     */
+    public Priority.Level getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority.Level priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Limite de débit par client de la route, ou null
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
     // ========== MÉTHODE DE VÉRIFICATION ==========
 
     /**
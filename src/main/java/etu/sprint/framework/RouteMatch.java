@@ -0,0 +1,33 @@
+package etu.sprint.framework;
+
+/**
+ * Résultat d'une recherche de route : la route trouvée + les valeurs
+ * extraites de l'URL (dans l'ordre des {param} du pattern)
+ *
+ * Les valeurs sont des String, sauf pour les segments typés
+ * ({id:int} → Integer, {id:long} → Long, {uuid:uuid} → UUID)
+ *
+ * Exemple :
+ * GET /user/details/42 → mapping = details(), params = ["42"]
+ */
+public class RouteMatch {
+
+    private final RouteMapping mapping;
+    private final Object[] params;
+
+    public RouteMatch(RouteMapping mapping, Object[] params) {
+        this.mapping = mapping;
+        this.params = params;
+    }
+
+    public RouteMapping getMapping() {
+        return mapping;
+    }
+
+    /**
+     * Valeurs extraites de l'URL (ne pas modifier : le tableau peut être partagé)
+     */
+    public Object[] getParams() {
+        return params;
+    }
+}
@@ -0,0 +1,240 @@
+package etu.sprint.framework;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import etu.sprint.framework.annotation.Priority;
+import etu.sprint.framework.annotation.RateLimit;
+
+/**
+ * Snapshot binaire de la table des routes, pour des redémarrages rapides
+ *
+ * Après un scan réussi, FrontServlet écrit dans WEB-INF/sprint-routes.snapshot :
+ * pattern, méthode HTTP, classe + signature de la méthode, description des paramètres
+ * (ParameterSpec), métadonnées @JSON, @VirtualThreads, @ConcurrencyLimit, @Priority et @RateLimit
+ * de chaque route.
+ *
+ * Au démarrage suivant, si l'empreinte de WEB-INF/classes et WEB-INF/lib
+ * (chemins, tailles et dates des fichiers) est identique, les routes sont
+ * reconstruites directement : Class.forName + getDeclaredMethod, sans scan
+ * ni lecture d'annotations. Sinon le snapshot est ignoré et réécrit.
+ */
+public class RouteSnapshot {
+
+    private static final int MAGIC = 0x53505254; // "SPRT"
+
+    // À incrémenter à chaque changement de format
+    private static final int VERSION = 8;
+
+    private RouteSnapshot() {
+    }
+
+    /**
+     * Empreinte des classes et jars de l'application (FNV-1a 64 bits)
+     * Ne lit que les métadonnées des fichiers, pas leur contenu.
+     */
+    public static long fingerprint(File webInf) throws IOException {
+        long hash = 0xcbf29ce484222325L;
+        for (String dir : new String[]{"classes", "lib"}) {
+            Path root = new File(webInf, dir).toPath();
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(root)) {
+                files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                hash = fnv(hash, root.relativize(file).toString());
+                hash = fnv(hash, Files.size(file));
+                hash = fnv(hash, Files.getLastModifiedTime(file).toMillis());
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Écrit le snapshot (fichier temporaire puis renommage)
+     */
+    public static void write(File file, long fingerprint, List<RouteMapping> mappings) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fingerprint);
+            out.writeInt(mappings.size());
+
+            for (RouteMapping rm : mappings) {
+                Method method = rm.getMethod();
+                out.writeUTF(rm.getHttpMethod());
+                out.writeUTF(rm.getPattern());
+                out.writeUTF(method.getDeclaringClass().getName());
+                out.writeUTF(method.getName());
+
+                ParameterSpec[] specs = rm.getParameters();
+                out.writeShort(specs.length);
+                for (ParameterSpec spec : specs) {
+                    out.writeUTF(spec.getType().getName());
+                    out.writeByte(spec.getKind().ordinal());
+                    out.writeUTF(spec.getName());
+                    out.writeShort(spec.getPathIndex());
+                    out.writeUTF(spec.getDateFormat());
+                }
+
+                out.writeInt(rm.getJsonStatus());
+                out.writeUTF(rm.getJsonContentType() != null ? rm.getJsonContentType() : "");
+                out.writeUTF(rm.getJsonDateFormat());
+                out.writeBoolean(rm.isVirtualThread());
+
+                ConcurrencyLimiter limiter = rm.getConcurrencyLimiter();
+                out.writeInt(limiter != null ? limiter.getInitialLimit() : -1);
+                if (limiter != null) {
+                    out.writeBoolean(limiter.isAdaptive());
+                    out.writeInt(limiter.getMinLimit());
+                    out.writeInt(limiter.getMaxLimit());
+                }
+                out.writeByte(rm.getPriority().ordinal());
+
+                RateLimiter rateLimiter = rm.getRateLimiter();
+                out.writeInt(rateLimiter != null ? rateLimiter.getRequests() : -1);
+                if (rateLimiter != null) {
+                    out.writeInt(rateLimiter.getSeconds());
+                    out.writeInt(rateLimiter.getBurst());
+                    out.writeByte(rateLimiter.getKey().ordinal());
+                    out.writeUTF(rateLimiter.getHeader());
+                }
+            }
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Relit le snapshot si son empreinte correspond
+     *
+     * @return les routes (une instance par contrôleur), ou null si absent, obsolète ou invalide
+     */
+    public static List<RouteMapping> read(File file, long fingerprint, ClassLoader loader) {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != fingerprint) {
+                return null;
+            }
+
+            int count = in.readInt();
+            List<RouteMapping> mappings = new ArrayList<>(count);
+            Map<Class<?>, Object> controllers = new HashMap<>();
+            ParameterSpec.Kind[] kinds = ParameterSpec.Kind.values();
+            Priority.Level[] priorities = Priority.Level.values();
+            RateLimit.Key[] rateLimitKeys = RateLimit.Key.values();
+
+            for (int r = 0; r < count; r++) {
+                String httpMethod = in.readUTF();
+                String pattern = in.readUTF();
+                Class<?> controllerClass = Class.forName(in.readUTF(), false, loader);
+                String methodName = in.readUTF();
+
+                int paramCount = in.readShort();
+                ParameterSpec[] specs = new ParameterSpec[paramCount];
+                Class<?>[] paramTypes = new Class<?>[paramCount];
+                for (int i = 0; i < paramCount; i++) {
+                    paramTypes[i] = resolveType(in.readUTF(), loader);
+                    ParameterSpec.Kind kind = kinds[in.readByte()];
+                    String name = in.readUTF();
+                    int pathIndex = in.readShort();
+                    String dateFormat = in.readUTF();
+                    specs[i] = new ParameterSpec(kind, paramTypes[i], name, pathIndex, dateFormat);
+                }
+
+                int jsonStatus = in.readInt();
+                String jsonContentType = in.readUTF();
+                String jsonDateFormat = in.readUTF();
+                boolean virtualThread = in.readBoolean();
+                ConcurrencyLimiter limiter = null;
+                int limit = in.readInt();
+                if (limit >= 0) {
+                    limiter = new ConcurrencyLimiter(limit, in.readBoolean(), in.readInt(), in.readInt());
+                }
+                Priority.Level priority = priorities[in.readByte()];
+                RateLimiter rateLimiter = null;
+                int requests = in.readInt();
+                if (requests >= 0) {
+                    rateLimiter = new RateLimiter(requests, in.readInt(), in.readInt(), rateLimitKeys[in.readByte()],
+                                                  in.readUTF(), RateLimiter.DEFAULT_MAX_CLIENTS);
+                }
+
+                Method method = controllerClass.getDeclaredMethod(methodName, paramTypes);
+                Object controller = controllers.get(controllerClass);
+                if (controller == null) {
+                    controller = controllerClass.getDeclaredConstructor().newInstance();
+                    controllers.put(controllerClass, controller);
+                }
+
+                RouteMapping mapping = new RouteMapping(pattern, method, controller, httpMethod, specs,
+                        jsonStatus, jsonStatus >= 0 ? jsonContentType : null);
+                mapping.setJsonDateFormat(jsonDateFormat);
+                mapping.setVirtualThread(virtualThread);
+                mapping.setConcurrencyLimiter(limiter);
+                mapping.setPriority(priority);
+                mapping.setRateLimiter(rateLimiter);
+                mappings.add(mapping);
+            }
+            return mappings;
+
+        } catch (Exception | LinkageError e) {
+            System.err.println("[RouteSnapshot] Snapshot ignoré (" + e + ")");
+            return null;
+        }
+    }
+
+    private static Class<?> resolveType(String name, ClassLoader loader) throws ClassNotFoundException {
+        switch (name) {
+            case "int": return int.class;
+            case "long": return long.class;
+            case "double": return double.class;
+            case "float": return float.class;
+            case "boolean": return boolean.class;
+            case "short": return short.class;
+            case "byte": return byte.class;
+            case "char": return char.class;
+            default: return Class.forName(name, false, loader);
+        }
+    }
+
+    private static long fnv(long hash, String value) {
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xFF);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long fnv(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash ^= (value >>> (i * 8)) & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
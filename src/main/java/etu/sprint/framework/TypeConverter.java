@@ -0,0 +1,30 @@
+package etu.sprint.framework;
+
+/**
+ * Conversion d'une valeur de requête (texte) vers un type Java
+ *
+ * Une valeur invalide est signalée par le retour de INVALID, sans exception :
+ * les valeurs fantaisistes envoyées sur les paramètres numériques ne passent
+ * pas par la création d'une pile d'appels.
+ *
+ * Les convertisseurs sont enregistrés par type dans ConverterRegistry.
+ */
+@FunctionalInterface
+public interface TypeConverter {
+
+    /**
+     * Marqueur de valeur non convertible
+     */
+    Object INVALID = new Object() {
+        @Override
+        public String toString() {
+            return "INVALID";
+        }
+    };
+
+    /**
+     * @param value texte non vide
+     * @return la valeur convertie, ou INVALID
+     */
+    Object convert(CharSequence value);
+}
@@ -0,0 +1,164 @@
+package etu.sprint.framework;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Exécution des routes @VirtualThreads : un thread virtuel par requête (JDK 21+)
+ *
+ * Le nombre de requêtes en cours sur des threads virtuels est plafonné
+ * (paramètre virtualThreadMaxInFlight, défaut 10000) : au-delà, tryAcquire()
+ * échoue et FrontServlet répond 503. Un thread virtuel ne bloque pas de thread
+ * du conteneur, mais chaque requête garde ses ressources (connexion JDBC, mémoire).
+ *
+ * Threads porteurs épinglés (bloqués dans un synchronized ou du code natif) :
+ * comptés via l'événement JFR jdk.VirtualThreadPinned (seuil 20 ms),
+ * désactivable avec virtualThreadPinnedMetrics=false.
+ *
+ * Le projet compile en Java 17 : l'executor est créé par réflexion
+ * (Executors.newVirtualThreadPerTaskExecutor), create() retourne null avant le JDK 21.
+ * Statistiques : attribut de contexte "etu.sprint.framework.VirtualThreadDispatcher".
+ */
+public class VirtualThreadDispatcher {
+
+    private static final Duration PINNED_THRESHOLD = Duration.ofMillis(20);
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxInFlight;
+
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder pinned = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+
+    // Enregistrement JFR des épinglages (null si désactivé ou indisponible)
+    private RecordingStream pinnedEvents;
+
+    private VirtualThreadDispatcher(ExecutorService executor, int maxInFlight) {
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * @param maxInFlight nombre max de requêtes en cours sur des threads virtuels
+     * @param pinnedMetrics suivre les épinglages de threads porteurs (JFR)
+     * @return null si les threads virtuels ne sont pas disponibles (JDK < 21)
+     */
+    public static VirtualThreadDispatcher create(int maxInFlight, boolean pinnedMetrics) {
+        ExecutorService executor;
+        try {
+            executor = (ExecutorService) java.util.concurrent.Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+        VirtualThreadDispatcher dispatcher = new VirtualThreadDispatcher(executor, Math.max(1, maxInFlight));
+        if (pinnedMetrics) {
+            dispatcher.startPinnedEvents();
+        }
+        return dispatcher;
+    }
+
+    private void startPinnedEvents() {
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(PINNED_THRESHOLD);
+            stream.onEvent("jdk.VirtualThreadPinned", event -> {
+                pinned.increment();
+                pinnedNanos.add(event.getDuration().toNanos());
+            });
+            stream.setMaxAge(Duration.ofSeconds(10));
+            stream.startAsync();
+            pinnedEvents = stream;
+        } catch (RuntimeException | LinkageError e) {
+            System.err.println("[VirtualThreadDispatcher] Suivi des épinglages indisponible (" + e + ")");
+        }
+    }
+
+    /**
+     * Réserve une place parmi les requêtes en cours
+     *
+     * @return false si le plafond est atteint (répondre 503)
+     */
+    public boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Exécute la tâche sur un thread virtuel (place réservée par tryAcquire(), libérée à la fin)
+     *
+     * @return null si l'executor est arrêté (place libérée)
+     */
+    public Future<?> submit(Runnable task) {
+        try {
+            Future<?> future = executor.submit(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+            dispatched.increment();
+            return future;
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            rejected.increment();
+            return null;
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        if (pinnedEvents != null) {
+            pinnedEvents.close();
+        }
+    }
+
+    // ========== STATISTIQUES ==========
+
+    public long getDispatchedCount() {
+        return dispatched.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public int getInFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Épinglages de threads porteurs d'au moins 20 ms (0 si le suivi est désactivé)
+     */
+    public long getPinnedCount() {
+        return pinned.sum();
+    }
+
+    public long getPinnedMillis() {
+        return pinnedNanos.sum() / 1_000_000;
+    }
+
+    @Override
+    public String toString() {
+        return "VirtualThreadDispatcher[inFlight=" + getInFlight() + "/" + maxInFlight
+                + ", dispatched=" + getDispatchedCount() + ", rejected=" + getRejectedCount()
+                + ", pinned=" + getPinnedCount() + " (" + getPinnedMillis() + " ms)]";
+    }
+}
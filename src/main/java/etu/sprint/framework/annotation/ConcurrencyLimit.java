@@ -0,0 +1,31 @@
+package etu.sprint.framework.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.annotation.ElementType;
+
+/**
+ * Nombre max de requêtes simultanées sur une route (cloison / bulkhead)
+ *
+ * Au-delà, la requête est refusée tout de suite (503 + Retry-After), sans attente :
+ * une route lente ne peut plus occuper tous les threads du conteneur.
+ * Sur une classe @Controller : limite propre à chacune de ses routes.
+ *
+ * adaptive=true : la limite évolue entre min et max selon la latence observée
+ * (value = limite de départ).
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ConcurrencyLimit {
+    /**
+     * Limite (fixe, ou de départ en mode adaptatif)
+     */
+    int value();
+
+    boolean adaptive() default false;
+
+    int min() default 1;
+
+    int max() default 1000;
+}
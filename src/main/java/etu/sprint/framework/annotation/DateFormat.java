@@ -0,0 +1,21 @@
+package etu.sprint.framework.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.annotation.ElementType;
+
+/**
+ * Format de date pour la conversion d'un paramètre ou d'une propriété de formulaire
+ * (LocalDate, LocalDateTime, LocalTime)
+ *
+ * Exemple : @RequestParam("from") @DateFormat("dd/MM/yyyy") LocalDate from
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.PARAMETER, ElementType.FIELD, ElementType.METHOD})
+public @interface DateFormat {
+    /**
+     * Pattern DateTimeFormatter (ex: "dd/MM/yyyy", "yyyy-MM-dd HH:mm")
+     */
+    String value();
+}
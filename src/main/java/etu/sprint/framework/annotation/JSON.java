@@ -12,6 +12,11 @@ import java.lang.annotation.ElementType;
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
 public @interface JSON {
+    /**
+     * dateFormat : dates écrites en millisecondes depuis 1970 (nombre)
+     */
+    String EPOCH_MILLIS = "epochMillis";
+
     /**
      * Statut HTTP à retourner (par défaut 200 OK)
      */
@@ -21,4 +26,10 @@ public @interface JSON {
      * Content-Type à utiliser (par défaut application/json)
      */
     String contentType() default "application/json";
+
+    /**
+     * Format des dates de la réponse : pattern DateTimeFormatter (ex: "dd/MM/yyyy HH:mm"),
+     * EPOCH_MILLIS, ou "" pour ISO-8601 (par défaut)
+     */
+    String dateFormat() default "";
 }
\ No newline at end of file
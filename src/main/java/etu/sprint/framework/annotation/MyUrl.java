@@ -5,6 +5,18 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.annotation.ElementType;
 
+/**
+ * Annotation pour associer une URL à une méthode de contrôleur
+ *
+ * Segments dynamiques :
+ * - "/user/{id}"            : n'importe quelle valeur (String, convertie ensuite)
+ * - "/user/{id:int}"        : entier (aussi "long")
+ * - "/file/{uuid:uuid}"     : UUID
+ * - "/post/{slug:[a-z-]+}"  : expression régulière
+ *
+ * Si la valeur ne respecte pas la contrainte, la route est ignorée
+ * (route suivante ou 404).
+ */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
 public @interface MyUrl {
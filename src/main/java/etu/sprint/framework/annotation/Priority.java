@@ -0,0 +1,24 @@
+package etu.sprint.framework.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.annotation.ElementType;
+
+/**
+ * Priorité d'une route face au délestage global (paramètre loadShedding=true)
+ *
+ * En surcharge, les routes LOW sont refusées (503) en premier, puis NORMAL, puis HIGH ;
+ * CRITICAL (ex: health check, paiement) n'est jamais délesté.
+ * Sans annotation : NORMAL. Sur une classe @Controller : toutes ses routes.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Priority {
+
+    Level value();
+
+    enum Level {
+        CRITICAL, HIGH, NORMAL, LOW
+    }
+}
@@ -0,0 +1,48 @@
+package etu.sprint.framework.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.annotation.ElementType;
+
+/**
+ * Limite de débit d'une route, par client (seau à jetons)
+ *
+ * Exemple : @RateLimit(requests = 10, seconds = 1, burst = 20)
+ * → 10 requêtes/s en moyenne par client, jusqu'à 20 d'affilée.
+ * Au-delà : 429 + Retry-After, avant le multipart et l'appel du contrôleur.
+ * Sur une classe @Controller : limite propre à chacune de ses routes.
+ *
+ * Client identifié par son IP (défaut), un en-tête (key = HEADER, header = "X-Api-Key")
+ * ou sa session ; sans en-tête ni session, l'IP est utilisée.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface RateLimit {
+
+    /**
+     * Nombre de requêtes autorisées par période
+     */
+    int requests();
+
+    /**
+     * Durée de la période en secondes
+     */
+    int seconds() default 1;
+
+    /**
+     * Requêtes acceptées d'affilée (0 = requests)
+     */
+    int burst() default 0;
+
+    Key key() default Key.IP;
+
+    /**
+     * Nom de l'en-tête pour key = HEADER
+     */
+    String header() default "";
+
+    enum Key {
+        IP, HEADER, SESSION
+    }
+}
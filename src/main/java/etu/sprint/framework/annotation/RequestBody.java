@@ -0,0 +1,22 @@
+package etu.sprint.framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Paramètre lu depuis le corps JSON de la requête (application/json)
+ *
+ * Types acceptés : objet (setters ou champs), Map<String, Object>, List / Set / tableau,
+ * types simples (String, nombres, booléens, dates, enums).
+ * Corps vide : null (ou valeur par défaut d'un primitif).
+ *
+ * Exemple :
+ *   @MyUrl("/api/commande") @HttpMethod("POST") @JSON
+ *   public Commande creer(@RequestBody Commande commande)
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface RequestBody {
+}
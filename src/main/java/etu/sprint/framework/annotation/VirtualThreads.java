@@ -0,0 +1,21 @@
+package etu.sprint.framework.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.annotation.ElementType;
+
+/**
+ * Exécute les routes sur un thread virtuel (JDK 21+)
+ *
+ * Sur une classe @Controller : toutes ses routes ; sur une méthode : cette route
+ * (@VirtualThreads(false) sur une méthode l'exclut).
+ * Binding, appel du contrôleur et réponse se font sur le thread virtuel,
+ * le thread du conteneur est libéré via AsyncContext (asyncSupported=true requis).
+ * Sans JDK 21 ou sans support asynchrone : exécution normale.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface VirtualThreads {
+    boolean value() default true;
+}
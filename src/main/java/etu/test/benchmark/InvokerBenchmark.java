@@ -0,0 +1,124 @@
+package etu.test.benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import etu.sprint.framework.MethodInvoker;
+import etu.test.controller.HelloController;
+import etu.test.controller.UserController;
+
+/**
+ * Micro-benchmark : Method.invoke() vs MethodInvoker
+ *
+ * 1. Invocation seule : cibles vides (Noop) aux signatures des contrôleurs,
+ *    le coût mesuré est celui de l'appel.
+ * 2. Contrôleurs réels (HelloController, UserController) : l'appel plus le
+ *    corps (ModelView, HashMap...), pour situer le gain.
+ *
+ * bat.bat et deploy.bat ne compilent ni les contrôleurs dans out ni ce paquetage :
+ *   javac -encoding UTF-8 -cp lib/servlet-api.jar -d out ^
+ *       src\main\java\etu\sprint\framework\*.java src\main\java\etu\sprint\framework\annotation\*.java ^
+ *       src\main\java\etu\test\controller\*.java src\main\java\etu\test\benchmark\*.java
+ *   java -cp "lib/servlet-api.jar;out" etu.test.benchmark.InvokerBenchmark
+ *
+ * Les System.out des contrôleurs sont coupés pendant la mesure.
+ */
+public class InvokerBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    // Empêche le JIT d'éliminer les appels
+    private static int sink;
+
+    /**
+     * Cibles vides : même signature que les contrôleurs, sans travail
+     */
+    public static class Noop {
+        private static final Object RESULT = "ok";
+
+        public Object none() {
+            return RESULT;
+        }
+
+        public Object one(String name) {
+            return RESULT;
+        }
+
+        public Object two(int a, int b) {
+            return RESULT;
+        }
+
+        public Object three(String format, Map<String, Object> params, int id) {
+            return RESULT;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Noop noop = new Noop();
+        HelloController hello = new HelloController();
+        UserController user = new UserController();
+        Map<String, Object> params = new HashMap<>();
+        params.put("view", "compact");
+
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            console.println("== Invocation seule ==");
+            run(console, "Noop.none()", noop, Noop.class.getMethod("none"), new Object[0]);
+            run(console, "Noop.one(String)", noop, Noop.class.getMethod("one", String.class), new Object[]{"bob"});
+            run(console, "Noop.two(int, int)", noop,
+                    Noop.class.getMethod("two", int.class, int.class), new Object[]{2, 3});
+            run(console, "Noop.three(String, Map, int)", noop,
+                    Noop.class.getMethod("three", String.class, Map.class, int.class),
+                    new Object[]{"json", params, 42});
+
+            console.println("== Contrôleurs ==");
+            run(console, "HelloController.sayHello()", hello,
+                    HelloController.class.getMethod("sayHello"), new Object[0]);
+            run(console, "HelloController.hello(String)", hello,
+                    HelloController.class.getMethod("hello", String.class), new Object[]{"bob"});
+            run(console, "HelloController.calc(int, int)", hello,
+                    HelloController.class.getMethod("calc", int.class, int.class), new Object[]{2, 3});
+            run(console, "UserController.details(String, Map, int)", user,
+                    UserController.class.getMethod("details", String.class, Map.class, int.class),
+                    new Object[]{"json", params, 42});
+        } finally {
+            System.setOut(console);
+        }
+        console.println("(sink=" + sink + ")");
+    }
+
+    private static void run(PrintStream console, String label, Object target,
+                            Method method, Object[] args) throws Exception {
+        MethodInvoker invoker = MethodInvoker.of(method);
+
+        for (int i = 0; i < WARMUP; i++) {
+            sink += method.invoke(target, args).hashCode();
+            sink += invoker.invoke(target, args).hashCode();
+        }
+
+        long bestReflect = Long.MAX_VALUE;
+        long bestHandle = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink += method.invoke(target, args).hashCode();
+            }
+            bestReflect = Math.min(bestReflect, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink += invoker.invoke(target, args).hashCode();
+            }
+            bestHandle = Math.min(bestHandle, System.nanoTime() - start);
+        }
+
+        console.printf("%-45s Method.invoke: %7.1f ns/op   MethodInvoker: %7.1f ns/op%n",
+                label, (double) bestReflect / ITERATIONS, (double) bestHandle / ITERATIONS);
+    }
+}
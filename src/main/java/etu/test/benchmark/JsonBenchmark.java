@@ -0,0 +1,208 @@
+package etu.test.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import etu.sprint.framework.JsonSerializer;
+
+/**
+ * Micro-benchmark : ancien JsonSerializer (chaîne puis octets) vs écriture en flux UTF-8
+ * sur des formes de DTO d'API (petite réponse, liste de 10 000 lignes, Map de résultats,
+ * série temporelle de 10 000 points datés)
+ *
+ * Lancement (après compilation du framework) :
+ *   java -cp "lib/servlet-api.jar;out" etu.test.benchmark.JsonBenchmark
+ *
+ * Mesure : meilleur temps sur 5 tours, et octets alloués par sérialisation
+ * (si la JVM expose com.sun.management.ThreadMXBean).
+ */
+public class JsonBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    // Empêche le JIT d'éliminer les sérialisations
+    private static long sink;
+
+    public static void main(String[] args) throws Exception {
+        Customer customer = customer(1);
+        List<OrderLine> lines = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            lines.add(new OrderLine(i, "SKU-" + i, i % 7, 19.99 + i, i % 3 == 0 ? "Café crème" : "Standard"));
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("status", "ok");
+        report.put("count", 500);
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            customers.add(customer(i));
+        }
+        report.put("customers", customers);
+        List<Point> series = new ArrayList<>();
+        long start = 1_700_000_000_000L;
+        for (int i = 0; i < 10_000; i++) {
+            series.add(new Point(start + i * 1000L, i * 0.5));
+        }
+
+        // Même sortie pour les deux sérialiseurs
+        for (Object value : new Object[]{customer, lines, report, series}) {
+            if (!LegacyJsonSerializer.toJson(value).equals(JsonSerializer.toJson(value))) {
+                System.out.println("Attention : sorties différentes pour " + value.getClass().getSimpleName());
+            }
+        }
+
+        run("Customer (1 objet)", customer, 200_000);
+        run("List<OrderLine> (10 000)", lines, 50);
+        run("Map rapport (500 clients)", report, 200);
+        run("List<Point> (10 000 dates)", series, 50);
+        System.out.println("(sink=" + sink + ")");
+    }
+
+    private static void run(String label, Object value, int iterations) throws IOException {
+        CountingStream out = new CountingStream();
+        for (int i = 0; i < iterations; i++) {
+            legacy(value);
+            JsonSerializer.write(value, out);
+        }
+
+        long bestLegacy = Long.MAX_VALUE;
+        long bestStreaming = Long.MAX_VALUE;
+        long legacyBytes = 0;
+        long streamingBytes = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocated = allocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                legacy(value);
+            }
+            bestLegacy = Math.min(bestLegacy, System.nanoTime() - start);
+            legacyBytes = (allocatedBytes() - allocated) / iterations;
+
+            allocated = allocatedBytes();
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                JsonSerializer.write(value, out);
+            }
+            bestStreaming = Math.min(bestStreaming, System.nanoTime() - start);
+            streamingBytes = (allocatedBytes() - allocated) / iterations;
+        }
+        sink += out.count;
+
+        System.out.printf("%-28s ancien: %10.1f µs/op %10d o/op   flux UTF-8: %10.1f µs/op %10d o/op%n",
+                label, bestLegacy / 1000.0 / iterations, legacyBytes,
+                bestStreaming / 1000.0 / iterations, streamingBytes);
+    }
+
+    /**
+     * Ancien chemin de handleJsonResponse : chaîne complète puis encodage UTF-8
+     */
+    private static void legacy(Object value) {
+        sink += LegacyJsonSerializer.toJson(value).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static Customer customer(int id) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setName("Client n°" + id);
+        customer.setEmail("client" + id + "@exemple.mg");
+        customer.setActive(id % 2 == 0);
+        customer.setTags(Arrays.asList("vip", "newsletter"));
+        customer.setLastOrder(new OrderLine(id, "SKU-" + id, 2, 45.5, "Livraison \"express\""));
+        return customer;
+    }
+
+    /**
+     * Flux qui ne fait que compter (pas de coût d'E/S dans la mesure)
+     */
+    private static final class CountingStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    // ========== DTO ==========
+
+    public static class OrderLine {
+        private long id;
+        private String sku;
+        private int quantity;
+        private double price;
+        private String label;
+
+        public OrderLine(long id, String sku, int quantity, double price, String label) {
+            this.id = id;
+            this.sku = sku;
+            this.quantity = quantity;
+            this.price = price;
+            this.label = label;
+        }
+
+        public long getId() { return id; }
+        public String getSku() { return sku; }
+        public int getQuantity() { return quantity; }
+        public double getPrice() { return price; }
+        public String getLabel() { return label; }
+    }
+
+    public static class Point {
+        private java.util.Date time;
+        private LocalDateTime local;
+        private double value;
+
+        public Point(long millis, double value) {
+            this.time = new java.util.Date(millis);
+            this.local = LocalDateTime.ofEpochSecond(millis / 1000, 0, ZoneOffset.UTC);
+            this.value = value;
+        }
+
+        public java.util.Date getTime() { return time; }
+        public LocalDateTime getLocal() { return local; }
+        public double getValue() { return value; }
+    }
+
+    public static class Customer {
+        private int id;
+        private String name;
+        private String email;
+        private boolean active;
+        private List<String> tags;
+        private OrderLine lastOrder;
+
+        public int getId() { return id; }
+        public void setId(int id) { this.id = id; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+        public boolean isActive() { return active; }
+        public void setActive(boolean active) { this.active = active; }
+        public List<String> getTags() { return tags; }
+        public void setTags(List<String> tags) { this.tags = tags; }
+        public OrderLine getLastOrder() { return lastOrder; }
+        public void setLastOrder(OrderLine lastOrder) { this.lastOrder = lastOrder; }
+    }
+}
@@ -1,13 +1,24 @@
 package etu.test.controller;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 import etu.sprint.framework.ModelView;
+import etu.sprint.framework.annotation.ConcurrencyLimit;
+import etu.sprint.framework.annotation.JSON;
 import etu.sprint.framework.annotation.MyUrl;
+import etu.sprint.framework.annotation.Priority;
+import etu.sprint.framework.annotation.RateLimit;
 import etu.sprint.framework.annotation.RequestParam;
+import etu.sprint.framework.annotation.VirtualThreads;
 import etu.sprint.framework.controller.Controller;
 
 @Controller
 public class HelloController {
 
+    // Jamais délestée en surcharge (loadShedding=true)
+    @Priority(Priority.Level.CRITICAL)
     @MyUrl("/hello")
     public ModelView sayHello() {
         ModelView mv = new ModelView("hello.jsp");
@@ -15,6 +26,7 @@ public class HelloController {
         return mv;
     }
 
+    @Priority(Priority.Level.LOW)
     @MyUrl("/test")
     public String doTest() {
         return "Méthode test exécutée !";
@@ -27,6 +39,8 @@ public class HelloController {
         return mv;
     }
 
+    // 5 calculs par seconde et par IP, 10 d'affilée au plus
+    @RateLimit(requests = 5, burst = 10)
     @MyUrl("/calc")
     public ModelView calc(@RequestParam("a") int a, @RequestParam("b") int b) {
         ModelView mv = new ModelView("test.jsp");
@@ -34,7 +48,41 @@ public class HelloController {
         return mv;
     }
 
+    // Réponse asynchrone : le thread du conteneur est libéré pendant le calcul
+    @MyUrl("/hello/async/{name}")
+    @JSON
+    public CompletableFuture<Map<String, Object>> helloAsync(String name) {
+        return CompletableFuture.supplyAsync(() -> {
+            Map<String, Object> data = new HashMap<>();
+            data.put("message", "Bonjour " + name);
+            data.put("thread", Thread.currentThread().getName());
+            return data;
+        });
+    }
+
+    @MyUrl("/hello/async-view")
+    public CompletableFuture<ModelView> helloAsyncView() {
+        return CompletableFuture.supplyAsync(() -> {
+            ModelView mv = new ModelView("hello.jsp");
+            mv.addItem("message", "Vue rendue après complétion");
+            return mv;
+        });
+    }
+
     public String notMappedMethod() {
         return "Cette méthode n'est pas mappée à une URL.";
     }
+
+    // Appel bloquant (ex: JDBC) exécuté sur un thread virtuel (JDK 21+),
+    // nombre d'appels simultanés ajusté selon la latence
+    @VirtualThreads
+    @ConcurrencyLimit(value = 20, adaptive = true, max = 200)
+    @MyUrl("/hello/blocking")
+    @JSON
+    public Map<String, Object> helloBlocking() throws InterruptedException {
+        Thread.sleep(50);
+        Map<String, Object> data = new HashMap<>();
+        data.put("thread", Thread.currentThread().toString());
+        return data;
+    }
 }
@@ -93,8 +93,9 @@ public class TestController {
     /**
      * GET /user/{id}
      * Affiche les détails d'un utilisateur
+     * {id:int} : /user/abc ne correspond pas (404) au lieu de donner id = 0
      */
-    @MyUrl("/user/{id}")
+    @MyUrl("/user/{id:int}")
     @HttpMethod("GET")
     public ModelView showUser(int id) {
         System.out.println("[TEST] GET /user/" + id);
@@ -3,10 +3,13 @@ package etu.test.controller;
 import etu.sprint.framework.annotation.MyUrl;
 import etu.sprint.framework.annotation.HttpMethod;
 import etu.sprint.framework.annotation.RequestParam;
+import etu.sprint.framework.annotation.JSON;
+import etu.sprint.framework.annotation.RequestBody;
 import etu.sprint.framework.ModelView;
 import etu.sprint.framework.controller.Controller;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Controller
@@ -130,4 +133,18 @@ public class UserController {
         
         return mv;
     }
-}
\ No newline at end of file
+
+    @MyUrl("/api/user/{id}")
+    @HttpMethod("POST")
+    @JSON
+    public Map<String, Object> saveJson(@RequestBody Map<String, Object> user, int id) {
+        System.out.println("=== saveJson() called ===");
+        System.out.println("ID from URL: " + id);
+        System.out.println("JSON body: " + user);
+        
+        // user contient le corps JSON (objets → Map, tableaux → List), null si le corps est vide
+        Map<String, Object> saved = user != null ? user : new LinkedHashMap<>();
+        saved.put("id", id);
+        return saved;
+    }
+}